@@ -0,0 +1,267 @@
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+import Helpers.EmptyCollectionException;		// RuntimeException Class
+/**
+ * Self-balancing BinarySearchTree (AVL tree).
+ * This class inherits BinarySearchTree<T> class and keeps the same API, but rebalances
+ * with rotations after every insertion and removal so that the heights of the two
+ * subtrees of any node differ by at most one. The height of the tree is therefore
+ * at most 1.44 log2(n) under any insertion order, and every operation is O(log n).
+ * @author Tsuki
+ *
+ */
+public class AVLTree<T> extends BinarySearchTree<T>
+{
+	/**
+	 * Constructor(1) used to create an empty AVL tree.
+	 */
+	public AVLTree()
+	{
+		super();
+	}
+
+
+	/**
+	 * Constructor(2) used to create a new AVL tree with the specified element as its root.
+	 * @param element Specified element
+	 */
+	public AVLTree(T element)
+	{
+		super();
+		root = new AVLTreeNode<T>(element);
+		numberOfNodes = 1;
+	}
+
+
+	/**
+	 * Inserts a new node with given element at the correct position and rebalances the
+	 * nodes on the path back to the root.
+	 * @param element Specified element
+	 */
+	public void addElement(T element)
+	{
+		root = insert(avl(root), new AVLTreeNode<T>(element), (Comparable<T>) element);
+		numberOfNodes++;
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return a reference to the first element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T removeElement(T targetElement) throws ElementNotFoundException
+	{
+		if (isEmpty())
+			throw new ElementNotFoundException("AVL Tree");
+
+		BinaryTreeNode<T> node = findAgain(targetElement, root);
+		if (node == null)
+			throw new ElementNotFoundException("AVL Tree");
+
+		root = remove(avl(root), (Comparable<T>) targetElement);
+		numberOfNodes--;
+		return node.getElement();
+	}
+
+
+	/**
+	 * @return a reference to the first element with the least value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMin() throws EmptyCollectionException
+	{
+		T result = findMin();
+
+		root = removeMinNode(avl(root));
+		numberOfNodes--;
+		return result;
+	}
+
+
+	/**
+	 * @return a reference to the first element with the highest value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMax() throws EmptyCollectionException
+	{
+		T result = findMax();
+
+		root = removeMaxNode(avl(root));
+		numberOfNodes--;
+		return result;
+	}
+
+
+	/**
+	 * Nodes created by the bulk loaders of BinarySearchTree are AVL nodes as well.
+	 * A perfectly balanced tree already satisfies the AVL property.
+	 * @param element Specified element
+	 * @return a new leaf AVLTreeNode holding the element
+	 */
+	protected BinaryTreeNode<T> newNode(T element)
+	{
+		return new AVLTreeNode<T>(element);
+	}
+
+
+	/**
+	 * @return the height of this tree (O(1), stored in the root)
+	 */
+	public int height()
+	{
+		return AVLTreeNode.height(root);
+	}
+
+
+	/**
+	 * Helper method for addElement().
+	 * @param node Root of the current subtree
+	 * @param newNode Node to be inserted
+	 * @param target Element of the new node
+	 * @return the root of the rebalanced subtree
+	 */
+	private AVLTreeNode<T> insert(AVLTreeNode<T> node, AVLTreeNode<T> newNode, Comparable<T> target)
+	{
+		if (node == null)
+			return newNode;
+
+		// equal elements go into the right subtree, as in BinarySearchTree
+		if (target.compareTo(node.getElement()) < 0)
+			node.setLeft(insert(avl(node.getLeft()), newNode, target));
+		else
+			node.setRight(insert(avl(node.getRight()), newNode, target));
+
+		return rebalance(node);
+	}
+
+
+	/**
+	 * Helper method for removeElement().
+	 * Removes the first node on the search path that matches the target.
+	 * @param node Root of the current subtree (the target is known to be in it)
+	 * @param target Element to be removed
+	 * @return the root of the rebalanced subtree
+	 */
+	private AVLTreeNode<T> remove(AVLTreeNode<T> node, Comparable<T> target)
+	{
+		int cmp = target.compareTo(node.getElement());
+
+		if (cmp < 0)
+			node.setLeft(remove(avl(node.getLeft()), target));
+		else if (cmp > 0)
+			node.setRight(remove(avl(node.getRight()), target));
+		else
+		{
+			// node has at most one child
+			if (node.getLeft() == null)
+				return avl(node.getRight());
+			if (node.getRight() == null)
+				return avl(node.getLeft());
+
+			// node has both children
+			// -> Replace it with the smallest node in its right subtree (in-order successor)
+			AVLTreeNode<T> successor = avl(node.getRight());
+			while (successor.getLeft() != null)
+				successor = avl(successor.getLeft());
+
+			successor.setRight(removeMinNode(avl(node.getRight())));
+			successor.setLeft(node.getLeft());
+			node = successor;
+		}
+		return rebalance(node);
+	}
+
+
+	/**
+	 * @param node Root of the current subtree (not null)
+	 * @return the root of the rebalanced subtree after unlinking its smallest node
+	 */
+	private AVLTreeNode<T> removeMinNode(AVLTreeNode<T> node)
+	{
+		if (node.getLeft() == null)
+			return avl(node.getRight());
+
+		node.setLeft(removeMinNode(avl(node.getLeft())));
+		return rebalance(node);
+	}
+
+
+	/**
+	 * @param node Root of the current subtree (not null)
+	 * @return the root of the rebalanced subtree after unlinking its largest node
+	 */
+	private AVLTreeNode<T> removeMaxNode(AVLTreeNode<T> node)
+	{
+		if (node.getRight() == null)
+			return avl(node.getLeft());
+
+		node.setRight(removeMaxNode(avl(node.getRight())));
+		return rebalance(node);
+	}
+
+
+	/**
+	 * Restores the AVL property at the specified node with one single or double rotation.
+	 * @param node Node whose subtrees are balanced but may differ in height by two
+	 * @return the root of the rebalanced subtree
+	 */
+	private AVLTreeNode<T> rebalance(AVLTreeNode<T> node)
+	{
+		int balance = node.getBalance();
+
+		// left subtree is too high
+		if (balance > 1)
+		{
+			if (avl(node.getLeft()).getBalance() < 0)
+				node.setLeft(rotateLeft(avl(node.getLeft())));	// left-right case
+			return rotateRight(node);
+		}
+		// right subtree is too high
+		if (balance < -1)
+		{
+			if (avl(node.getRight()).getBalance() > 0)
+				node.setRight(rotateRight(avl(node.getRight())));	// right-left case
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+
+	/**
+	 * @param node Root of the subtree to rotate (must have a left child)
+	 * @return the new root of the subtree (the former left child)
+	 */
+	private AVLTreeNode<T> rotateRight(AVLTreeNode<T> node)
+	{
+		AVLTreeNode<T> pivot = avl(node.getLeft());
+
+		node.setLeft(pivot.getRight());		// node's height is recomputed first
+		pivot.setRight(node);
+		return pivot;
+	}
+
+
+	/**
+	 * @param node Root of the subtree to rotate (must have a right child)
+	 * @return the new root of the subtree (the former right child)
+	 */
+	private AVLTreeNode<T> rotateLeft(AVLTreeNode<T> node)
+	{
+		AVLTreeNode<T> pivot = avl(node.getRight());
+
+		node.setRight(pivot.getLeft());		// node's height is recomputed first
+		pivot.setLeft(node);
+		return pivot;
+	}
+
+
+	/**
+	 * @param node Specified node (every node of this tree is an AVLTreeNode)
+	 * @return the specified node as an AVLTreeNode
+	 */
+	private AVLTreeNode<T> avl(BinaryTreeNode<T> node)
+	{
+		return (AVLTreeNode<T>) node;
+	}
+
+}
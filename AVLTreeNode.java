@@ -0,0 +1,85 @@
+/**
+ * Node structure for an AVL tree.
+ * This class inherits BinaryTreeNode<T> class and additionally stores the height of the
+ * subtree rooted at this node, which is kept up to date whenever a child link changes.
+ * @author Tsuki
+ *
+ */
+public class AVLTreeNode<T> extends BinaryTreeNode<T>
+{
+	/**
+	 * Height of the subtree rooted at this node (a leaf has height 0).
+	 */
+	private int height;
+
+
+	/**
+	 * Constructor used to create a leaf AVLTreeNode.
+	 * @param element Specified element
+	 */
+	public AVLTreeNode(T element)
+	{
+		super(element);
+		this.height = 0;
+	}
+
+
+	/**
+	 * @return the height of the subtree rooted at this node
+	 */
+	public int getHeight()
+	{
+		return this.height;
+	}
+
+
+	/**
+	 * @return height difference between the left and right subtrees of this node
+	 */
+	public int getBalance()
+	{
+		return height(getLeft()) - height(getRight());
+	}
+
+
+	/**
+	 * Assigns a new reference to the left child for this node and recomputes its height
+	 * @param node Specified node
+	 */
+	public void setLeft(BinaryTreeNode<T> node)
+	{
+		super.setLeft(node);
+		updateHeight();
+	}
+
+
+	/**
+	 * Assigns a new reference to the right child for this node and recomputes its height
+	 * @param node Specified node
+	 */
+	public void setRight(BinaryTreeNode<T> node)
+	{
+		super.setRight(node);
+		updateHeight();
+	}
+
+
+	/**
+	 * Recomputes the height of this node from the heights of its children.
+	 */
+	private void updateHeight()
+	{
+		this.height = 1 + Math.max(height(getLeft()), height(getRight()));
+	}
+
+
+	/**
+	 * @param node Specified node (may be null)
+	 * @return height of the specified node; -1 for null
+	 */
+	static int height(BinaryTreeNode<?> node)
+	{
+		return node == null ? -1 : ((AVLTreeNode<?>) node).height;
+	}
+
+}
@@ -0,0 +1,300 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+/**
+ *
+ * Stable Argsort and Key/Value Co-Sorting Algorithms in Java
+ *
+ * Records kept as parallel primitive arrays (a key array plus payload arrays) are
+ * sorted by key without boxing them into objects.
+ *
+ * ------------------------------------
+ * [ Argsort Algorithm ]
+ *
+ * Algorithm ArgSort(keys, n)
+ * In: Array keys storing n values
+ * Out: {permutation perm with keys[perm[0]] <= keys[perm[1]] <= ... ;
+ *       equal keys keep their original order (stable)}
+ *
+ * for i=0 to n-1 do
+ *   packed[i] = (keys[i] << 32) | i     {64-bit word: key in the high half, index in the low half}
+ * LSD radix sort packed on the 4 key bytes only (stable, see RadixSort)
+ * for i=0 to n-1 do
+ *   perm[i] = low 32 bits of packed[i]
+ *
+ * Because every packed word is unique and orders by (key, index), the parallel
+ * version may sort the chunks independently and merge them in any order.
+ *
+ * [ Co-Sort Algorithm ]
+ *
+ * perm = ArgSort(keys, n)
+ * for each array a in keys and the companion arrays do {
+ *   for i=0 to n-1 do scratch[i] = a[perm[i]]
+ *   copy scratch back into a
+ * }
+ *
+ * ------------------------------------
+ *
+ * Order of Time Complexity:
+ *
+ * ArgSort:	O(4 * n)		(parallel: O(n log2(p)) work for p chunks)
+ * CoSort:	O(4 * n + m * n)	(m = number of companion arrays)
+ *
+ * Extra Space:	O(n)	(two long scratch arrays for argsort, one scratch array per element type for co-sort)
+ *		every call allocates its arrays, including a 1024-entry histogram per radix-sorted chunk
+ *
+ */
+public class ArgSort {
+
+	/**
+	 * Default chunk size below which a parallel argsort task sorts sequentially.
+	 */
+	public static final int PARALLEL_CUTOFF = 1 << 16;
+
+	/**
+	 * Stable Argsort Algorithm
+	 * @param keys Keys (left unchanged)
+	 * @param n Number of keys
+	 * @return permutation of 0..n-1 listing the keys in increasing order; ties in index order
+	 */
+	public static int[] argsort(int[] keys, int n) {
+		long[] packed = pack(keys, n);
+		radixSortByKey(packed, new long[n], 0, n);
+		return unpack(packed, n);
+	}
+
+	/**
+	 * Stable Argsort Algorithm, parallel version; the result equals argsort(keys, n).
+	 * @param keys Keys (left unchanged)
+	 * @param n Number of keys
+	 * @param pool Pool the sort tasks run on (bounds the parallelism)
+	 * @return permutation of 0..n-1 listing the keys in increasing order; ties in index order
+	 */
+	public static int[] argsortParallel(int[] keys, int n, ForkJoinPool pool) {
+		long[] packed = pack(keys, n);
+		long[] scratch = new long[n];
+
+		if (n > PARALLEL_CUTOFF)
+			pool.invoke(new SortTask(packed, scratch, 0, n));
+		else
+			radixSortByKey(packed, scratch, 0, n);
+		return unpack(packed, n);
+	}
+
+	/**
+	 * Stable Co-Sort Algorithm: sorts keys[0..n-1] and applies the same reordering
+	 * to every companion array.
+	 * @param keys Keys
+	 * @param n Number of records
+	 * @param companions Payload arrays holding at least n items each
+	 * @return the permutation that was applied (see argsort)
+	 */
+	public static int[] coSort(int[] keys, int n, int[]... companions) {
+		return coSort(argsort(keys, n), keys, n, null, companions);
+	}
+
+	/**
+	 * Stable Co-Sort Algorithm with a long payload column.
+	 * @param keys Keys
+	 * @param n Number of records
+	 * @param payload Long payload array holding at least n items
+	 * @param companions Further int payload arrays holding at least n items each
+	 * @return the permutation that was applied (see argsort)
+	 */
+	public static int[] coSort(int[] keys, int n, long[] payload, int[]... companions) {
+		return coSort(argsort(keys, n), keys, n, payload, companions);
+	}
+
+	/**
+	 * Stable Co-Sort Algorithm, parallel version.
+	 * @param pool Pool the sort tasks run on
+	 * @param keys Keys
+	 * @param n Number of records
+	 * @param companions Payload arrays holding at least n items each
+	 * @return the permutation that was applied (see argsort)
+	 */
+	public static int[] coSortParallel(ForkJoinPool pool, int[] keys, int n, int[]... companions) {
+		return coSort(argsortParallel(keys, n, pool), keys, n, null, companions);
+	}
+
+	/**
+	 * Stable Co-Sort Algorithm with a long payload column, parallel version.
+	 * @param pool Pool the sort tasks run on
+	 * @param keys Keys
+	 * @param n Number of records
+	 * @param payload Long payload array holding at least n items
+	 * @param companions Further int payload arrays holding at least n items each
+	 * @return the permutation that was applied (see argsort)
+	 */
+	public static int[] coSortParallel(ForkJoinPool pool, int[] keys, int n, long[] payload, int[]... companions) {
+		return coSort(argsortParallel(keys, n, pool), keys, n, payload, companions);
+	}
+
+	/**
+	 * Reorders the items so that a[i] becomes the old a[perm[i]].
+	 * @param perm Permutation of 0..n-1
+	 * @param a Array to reorder
+	 * @param n Number of items
+	 * @param scratch Scratch array holding at least n items
+	 */
+	public static void apply(int[] perm, int[] a, int n, int[] scratch) {
+		for (int i = 0; i < n; i++)
+			scratch[i] = a[perm[i]];
+		System.arraycopy(scratch, 0, a, 0, n);
+	}
+
+	/**
+	 * Reorders the items so that a[i] becomes the old a[perm[i]].
+	 * @param perm Permutation of 0..n-1
+	 * @param a Array to reorder
+	 * @param n Number of items
+	 * @param scratch Scratch array holding at least n items
+	 */
+	public static void apply(int[] perm, long[] a, int n, long[] scratch) {
+		for (int i = 0; i < n; i++)
+			scratch[i] = a[perm[i]];
+		System.arraycopy(scratch, 0, a, 0, n);
+	}
+
+	/**
+	 * Applies perm to keys, the optional long payload and every int companion.
+	 */
+	private static int[] coSort(int[] perm, int[] keys, int n, long[] payload, int[][] companions) {
+		int[] scratch = new int[n];
+
+		apply(perm, keys, n, scratch);
+		for (int[] a : companions)
+			apply(perm, a, n, scratch);
+		if (payload != null)
+			apply(perm, payload, n, new long[n]);
+		return perm;
+	}
+
+	/**
+	 * @return packed[i] = (keys[i] << 32) | i; signed long order equals (key, index) order
+	 */
+	private static long[] pack(int[] keys, int n) {
+		long[] packed = new long[n];
+		for (int i = 0; i < n; i++)
+			packed[i] = ((long) keys[i] << 32) | i;
+		return packed;
+	}
+
+	/**
+	 * @return the index halves of the packed words
+	 */
+	private static int[] unpack(long[] packed, int n) {
+		int[] perm = new int[n];
+		for (int i = 0; i < n; i++)
+			perm[i] = (int) packed[i];
+		return perm;
+	}
+
+	/**
+	 * Stable LSD radix sort of packed[lo..hi-1] on the four key bytes (bits 32..63).
+	 * The index halves inside the range must already be increasing, which holds for
+	 * freshly packed words; the result is then fully ordered as signed longs.
+	 * @param packed Packed words
+	 * @param scratch Scratch array covering the same range
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 */
+	private static void radixSortByKey(long[] packed, long[] scratch, int lo, int hi) {
+		int n = hi - lo;
+		if (n < 2)
+			return;
+
+		int[] count = new int[4 * 256];
+		for (int i = lo; i < hi; i++) {
+			int x = (int) (packed[i] >>> 32) ^ Integer.MIN_VALUE;	// flip the sign bit
+			for (int p = 0; p < 4; p++)
+				count[(p << 8) + ((x >>> (p << 3)) & 0xFF)]++;
+		}
+
+		long[] src = packed;
+		long[] dst = scratch;
+		int first = (int) (packed[lo] >>> 32) ^ Integer.MIN_VALUE;
+
+		for (int p = 0; p < 4; p++) {
+			int shift = 32 + (p << 3);
+			int base = p << 8;
+
+			// all keys share this digit
+			if (count[base + ((first >>> (p << 3)) & 0xFF)] == n)
+				continue;
+
+			int sum = lo;
+			for (int v = base; v < base + 256; v++) {
+				int c = count[v];
+				count[v] = sum;
+				sum += c;
+			}
+
+			for (int i = lo; i < hi; i++) {
+				long x = src[i];
+				dst[count[base + (int) (((x ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = x;
+			}
+
+			long[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+
+		if (src != packed)
+			System.arraycopy(src, lo, packed, lo, n);
+	}
+
+	/**
+	 * Merges the sorted ranges src[lo..mid-1] and src[mid..hi-1] into dst[lo..hi-1].
+	 */
+	private static void merge(long[] src, long[] dst, int lo, int mid, int hi) {
+		int i = lo;
+		int j = mid;
+		int k = lo;
+
+		while (i < mid && j < hi)
+			dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+		while (i < mid)
+			dst[k++] = src[i++];
+		while (j < hi)
+			dst[k++] = src[j++];
+	}
+
+	/**
+	 * Fork/join merge sort of packed[lo..hi-1]: chunks at or below the cutoff are radix
+	 * sorted, larger ranges sort both halves in parallel and merge them.
+	 */
+	static final class SortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long[] packed;
+		private final long[] scratch;
+		private final int lo;
+		private final int hi;
+
+		SortTask(long[] packed, long[] scratch, int lo, int hi) {
+			this.packed = packed;
+			this.scratch = scratch;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo <= PARALLEL_CUTOFF) {
+				radixSortByKey(packed, scratch, lo, hi);
+				return;
+			}
+
+			int mid = (lo + hi) >>> 1;
+			invokeAll(new SortTask(packed, scratch, lo, mid), new SortTask(packed, scratch, mid, hi));
+
+			// skip the merge when the halves are already in order
+			if (packed[mid - 1] <= packed[mid])
+				return;
+			merge(packed, scratch, lo, mid, hi);
+			System.arraycopy(scratch, lo, packed, lo, hi - lo);
+		}
+	}
+
+}
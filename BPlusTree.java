@@ -0,0 +1,759 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+import Helpers.EmptyCollectionException;		// RuntimeException Class
+/**
+ * B+tree with the same operations as BinarySearchTree, for large ordered sets.
+ * Every node keeps up to (order - 1) keys in a sorted array that is binary searched, so a
+ * tree of n elements has about log_order(n) levels instead of log2(n), and the key array
+ * of one node occupies a few adjacent cache lines instead of one node object per key.
+ * Elements are stored in the leaves; inner nodes hold separator copies only, and the
+ * leaves are linked in both directions for in-order scans that never revisit inner nodes.
+ * Nodes other than the root stay at least half full (borrowing from or merging with a
+ * sibling on underflow), so all leaves are at the same depth.
+ * As in BinarySearchTree, equal elements are allowed; a new element goes after the equal
+ * ones already present. Separators bound their children inclusively on both sides
+ * (s[i-1] <= keys of child i <= s[i]), which is why searches start at the leftmost child
+ * that may hold the element.
+ * @author Tsuki
+ *
+ */
+public class BPlusTree<T>
+{
+	/**
+	 * Default maximum number of children of an inner node.
+	 * 64 references fill four 64-byte cache lines with compressed oops.
+	 */
+	public static final int DEFAULT_ORDER = 64;
+
+	/**
+	 * Maximum and minimum number of keys in a node other than the root.
+	 */
+	private final int maxKeys;
+	private final int minKeys;
+	/**
+	 * Root node of this tree (a leaf while the tree fits in one node).
+	 */
+	private Node root;
+	/**
+	 * Number of elements in this tree.
+	 */
+	private int numberOfElements;
+	/**
+	 * Number of levels below the root.
+	 */
+	private int height;
+	/**
+	 * Separator handed up by the last split in insert().
+	 */
+	private Object promoted;
+
+
+	/**
+	 * Constructor(1) used to create an empty B+tree of the default order.
+	 */
+	public BPlusTree()
+	{
+		this(DEFAULT_ORDER);
+	}
+
+
+	/**
+	 * Constructor(2) used to create an empty B+tree of the specified order.
+	 * @param order Maximum number of children of an inner node (a leaf holds order - 1 keys)
+	 * @throws IllegalArgumentException if order < 3
+	 */
+	public BPlusTree(int order) throws IllegalArgumentException
+	{
+		if (order < 3)
+			throw new IllegalArgumentException("order must be at least 3: " + order);
+
+		this.maxKeys = order - 1;
+		this.minKeys = maxKeys / 2;
+		this.root = new Leaf(maxKeys);
+		this.numberOfElements = 0;
+		this.height = 0;
+	}
+
+
+	/**
+	 * Inserts the specified element after any equal elements already present.
+	 * @param element Specified element
+	 */
+	public void addElement(T element)
+	{
+		Node split = insert(root, (Comparable<T>) element, element);
+
+		// the root was split: grow the tree by one level
+		if (split != null)
+		{
+			Inner newRoot = new Inner(maxKeys);
+			newRoot.keys[0] = promoted;
+			newRoot.children[0] = root;
+			newRoot.children[1] = split;
+			newRoot.n = 1;
+			root = newRoot;
+			height++;
+		}
+		promoted = null;
+		numberOfElements++;
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return a reference to the first element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T removeElement(T targetElement) throws ElementNotFoundException
+	{
+		Object[] removed = new Object[1];
+
+		if (!delete(root, (Comparable<T>) targetElement, removed))
+			throw new ElementNotFoundException("B+ Tree");
+
+		// the root lost its last separator: shrink the tree by one level
+		if (root instanceof Inner && root.n == 0)
+		{
+			root = ((Inner) root).children[0];
+			height--;
+		}
+		numberOfElements--;
+		return (T) removed[0];
+	}
+
+
+	/**
+	 * Removes every element that matches the specified target in this tree
+	 * @param targetElement Specified element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public void removeAllOccurrences(T targetElement) throws ElementNotFoundException
+	{
+		removeElement(targetElement);
+		while (contains(targetElement))
+			removeElement(targetElement);
+	}
+
+
+	/**
+	 * @return a reference to the first element with the least value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMin() throws EmptyCollectionException
+	{
+		return removeElement(findMin());
+	}
+
+
+	/**
+	 * @return a reference to an element with the highest value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMax() throws EmptyCollectionException
+	{
+		return removeElement(findMax());
+	}
+
+
+	/**
+	 * @return a reference to the first element with the least value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T findMin() throws EmptyCollectionException
+	{
+		if (isEmpty())
+			throw new EmptyCollectionException("B+ Tree");
+		return (T) firstLeaf().keys[0];
+	}
+
+
+	/**
+	 * @return a reference to the last element with the highest value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T findMax() throws EmptyCollectionException
+	{
+		if (isEmpty())
+			throw new EmptyCollectionException("B+ Tree");
+
+		Leaf leaf = lastLeaf();
+		return (T) leaf.keys[leaf.n - 1];
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return a reference to the first element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T find(T targetElement) throws ElementNotFoundException
+	{
+		Comparable<T> target = (Comparable<T>) targetElement;
+		Leaf leaf = seek(target);
+		int i = lowerBound(leaf, target);
+
+		// every element of this leaf is smaller; the first candidate starts the next leaf
+		if (i == leaf.n)
+		{
+			leaf = leaf.next;
+			i = 0;
+		}
+		if (leaf == null || target.compareTo((T) leaf.keys[i]) != 0)
+			throw new ElementNotFoundException("B+ Tree");
+		return (T) leaf.keys[i];
+	}
+
+
+	/**
+	 * Checks to see if an element equal to the specified one exists in this tree or not.
+	 * @param targetElement Specified element
+	 * @return true if this tree contains the specified element; false otherwise
+	 */
+	public boolean contains(T targetElement)
+	{
+		try
+		{
+			find(targetElement);
+		}
+		catch (ElementNotFoundException e)
+		{
+			return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * @return number of elements in this tree
+	 */
+	public int size()
+	{
+		return numberOfElements;
+	}
+
+
+	/**
+	 * @return true if this tree is empty; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return numberOfElements == 0;
+	}
+
+
+	/**
+	 * @return number of levels below the root (0 while the root is a leaf)
+	 */
+	public int height()
+	{
+		return height;
+	}
+
+
+	/**
+	 * @return a lazy in-order iterator following the leaf chain
+	 */
+	public Iterator<T> iteratorInOrder()
+	{
+		return new LeafIterator(firstLeaf(), 0, null, true, false);
+	}
+
+
+	/**
+	 * @return a lazy iterator from the highest to the least element
+	 */
+	public Iterator<T> iteratorDescending()
+	{
+		Leaf leaf = lastLeaf();
+		return new LeafIterator(leaf, leaf.n - 1, null, true, true);
+	}
+
+
+	/**
+	 * Lazy ascending iterator over the elements between two bounds: one descent to the
+	 * first element, then a walk along the leaf chain.
+	 * @param low Lower bound; null for no lower bound
+	 * @param lowInclusive true if elements equal to low are included
+	 * @param high Upper bound; null for no upper bound
+	 * @param highInclusive true if elements equal to high are included
+	 * @return an iterator over the elements in the range, in increasing order
+	 */
+	public Iterator<T> rangeIterator(T low, boolean lowInclusive, T high, boolean highInclusive)
+	{
+		if (low == null)
+			return new LeafIterator(firstLeaf(), 0, high, highInclusive, false);
+
+		Comparable<T> target = (Comparable<T>) low;
+		Leaf leaf = seek(target);
+		int i = lowInclusive ? lowerBound(leaf, target) : upperBound(leaf, target);
+
+		// exclusive bound: skip equal elements continued in later leaves
+		while (!lowInclusive && i == leaf.n && leaf.next != null)
+		{
+			leaf = leaf.next;
+			i = upperBound(leaf, target);
+		}
+		return new LeafIterator(leaf, i, high, highInclusive, false);
+	}
+
+
+	/**
+	 * @return In-order String representation of this tree
+	 */
+	public String toString()
+	{
+		StringBuilder result = new StringBuilder();
+		Iterator<T> iterator = iteratorInOrder();
+
+		while (iterator.hasNext())
+			result.append(iterator.next()).append("\n");
+		return result.toString();
+	}
+
+
+	/**
+	 * Helper method for addElement().
+	 * @param node Root of the current subtree
+	 * @param target Element to be inserted, as a Comparable
+	 * @param element Element to be inserted
+	 * @return the new right sibling if the node was split (its separator is left in
+	 * 		   promoted); null otherwise
+	 */
+	private Node insert(Node node, Comparable<T> target, T element)
+	{
+		if (node instanceof Leaf)
+		{
+			Leaf leaf = (Leaf) node;
+			insertAt(leaf.keys, leaf.n, upperBound(leaf, target), element);
+			leaf.n++;
+
+			return leaf.n > maxKeys ? splitLeaf(leaf) : null;
+		}
+
+		// equal elements go after the separator, i.e. into the right child
+		Inner inner = (Inner) node;
+		int c = upperBound(inner, target);
+		Node split = insert(inner.children[c], target, element);
+		if (split == null)
+			return null;
+
+		insertAt(inner.keys, inner.n, c, promoted);
+		insertAt(inner.children, inner.n + 1, c + 1, split);
+		inner.n++;
+
+		return inner.n > maxKeys ? splitInner(inner) : null;
+	}
+
+
+	/**
+	 * Moves the upper half of an overfull leaf into a new right sibling.
+	 * The separator is a copy of the sibling's first element.
+	 * @param leaf Leaf holding maxKeys + 1 elements
+	 * @return the new right sibling
+	 */
+	private Node splitLeaf(Leaf leaf)
+	{
+		Leaf right = new Leaf(maxKeys);
+		int keep = (leaf.n + 1) >>> 1;
+
+		right.n = leaf.n - keep;
+		System.arraycopy(leaf.keys, keep, right.keys, 0, right.n);
+		clear(leaf.keys, keep, leaf.n);
+		leaf.n = keep;
+
+		// link the new leaf into the chain
+		right.next = leaf.next;
+		right.prev = leaf;
+		if (leaf.next != null)
+			leaf.next.prev = right;
+		leaf.next = right;
+
+		promoted = right.keys[0];
+		return right;
+	}
+
+
+	/**
+	 * Moves the upper half of an overfull inner node into a new right sibling; the middle
+	 * separator moves up to the parent.
+	 * @param inner Inner node holding maxKeys + 1 separators
+	 * @return the new right sibling
+	 */
+	private Node splitInner(Inner inner)
+	{
+		Inner right = new Inner(maxKeys);
+		int keep = inner.n >>> 1;
+
+		promoted = inner.keys[keep];
+		right.n = inner.n - keep - 1;
+		System.arraycopy(inner.keys, keep + 1, right.keys, 0, right.n);
+		System.arraycopy(inner.children, keep + 1, right.children, 0, right.n + 1);
+		clear(inner.keys, keep, inner.n);
+		clear(inner.children, keep + 1, inner.n + 1);
+		inner.n = keep;
+
+		return right;
+	}
+
+
+	/**
+	 * Helper method for removeElement().
+	 * Equal elements may continue in the next child when the separator between the two
+	 * equals the target, so children are tried from left to right while that holds.
+	 * @param node Root of the current subtree
+	 * @param target Element to be removed
+	 * @param removed One-slot holder receiving the removed element
+	 * @return true if an element was removed from this subtree
+	 */
+	private boolean delete(Node node, Comparable<T> target, Object[] removed)
+	{
+		if (node instanceof Leaf)
+		{
+			Leaf leaf = (Leaf) node;
+			int i = lowerBound(leaf, target);
+			if (i == leaf.n || target.compareTo((T) leaf.keys[i]) != 0)
+				return false;
+
+			removed[0] = leaf.keys[i];
+			removeAt(leaf.keys, leaf.n, i);
+			leaf.n--;
+			return true;
+		}
+
+		Inner inner = (Inner) node;
+		for (int c = lowerBound(inner, target); c <= inner.n; c++)
+		{
+			if (delete(inner.children[c], target, removed))
+			{
+				if (inner.children[c].n < minKeys)
+					fixUnderflow(inner, c);
+				return true;
+			}
+			if (c == inner.n || target.compareTo((T) inner.keys[c]) != 0)
+				break;
+		}
+		return false;
+	}
+
+
+	/**
+	 * Restores the minimum fill of child c by borrowing one key from a sibling that can
+	 * spare it, or else by merging it with a sibling.
+	 * @param parent Parent node
+	 * @param c Index of the child with minKeys - 1 keys
+	 */
+	private void fixUnderflow(Inner parent, int c)
+	{
+		Node child = parent.children[c];
+
+		if (c > 0 && parent.children[c - 1].n > minKeys)
+		{
+			Node left = parent.children[c - 1];
+			if (child instanceof Leaf)
+			{
+				// move the last element of the left sibling to the front of child
+				insertAt(child.keys, child.n, 0, left.keys[left.n - 1]);
+				parent.keys[c - 1] = child.keys[0];
+			}
+			else
+			{
+				// rotate right through the parent separator
+				Inner in = (Inner) child;
+				Inner l = (Inner) left;
+				insertAt(in.keys, in.n, 0, parent.keys[c - 1]);
+				insertAt(in.children, in.n + 1, 0, l.children[l.n]);
+				parent.keys[c - 1] = l.keys[l.n - 1];
+				l.children[l.n] = null;
+			}
+			left.keys[left.n - 1] = null;
+			left.n--;
+			child.n++;
+		}
+		else if (c < parent.n && parent.children[c + 1].n > minKeys)
+		{
+			Node right = parent.children[c + 1];
+			if (child instanceof Leaf)
+			{
+				// move the first element of the right sibling to the end of child
+				child.keys[child.n] = right.keys[0];
+				removeAt(right.keys, right.n, 0);
+				parent.keys[c] = right.keys[0];
+			}
+			else
+			{
+				// rotate left through the parent separator
+				Inner in = (Inner) child;
+				Inner r = (Inner) right;
+				in.keys[in.n] = parent.keys[c];
+				in.children[in.n + 1] = r.children[0];
+				parent.keys[c] = r.keys[0];
+				removeAt(r.keys, r.n, 0);
+				removeAt(r.children, r.n + 1, 0);
+			}
+			right.n--;
+			child.n++;
+		}
+		else if (c > 0)
+			merge(parent, c - 1);
+		else
+			merge(parent, c);
+	}
+
+
+	/**
+	 * Merges child i + 1 into child i and removes the separator between them.
+	 * @param parent Parent node
+	 * @param i Index of the left child
+	 */
+	private void merge(Inner parent, int i)
+	{
+		Node left = parent.children[i];
+		Node right = parent.children[i + 1];
+
+		if (left instanceof Leaf)
+		{
+			Leaf l = (Leaf) left;
+			Leaf r = (Leaf) right;
+			System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+			l.n += r.n;
+
+			// unlink the right leaf from the chain
+			l.next = r.next;
+			if (r.next != null)
+				r.next.prev = l;
+		}
+		else
+		{
+			// the separator comes down between the two key arrays
+			Inner l = (Inner) left;
+			Inner r = (Inner) right;
+			l.keys[l.n] = parent.keys[i];
+			System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+			System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+			l.n += r.n + 1;
+		}
+
+		removeAt(parent.keys, parent.n, i);
+		removeAt(parent.children, parent.n + 1, i + 1);
+		parent.n--;
+	}
+
+
+	/**
+	 * Descends to the leftmost leaf that may hold the target.
+	 * @param target Specified element
+	 * @return the leaf
+	 */
+	private Leaf seek(Comparable<T> target)
+	{
+		Node node = root;
+		while (node instanceof Inner)
+			node = ((Inner) node).children[lowerBound(node, target)];
+		return (Leaf) node;
+	}
+
+
+	private Leaf firstLeaf()
+	{
+		Node node = root;
+		while (node instanceof Inner)
+			node = ((Inner) node).children[0];
+		return (Leaf) node;
+	}
+
+
+	private Leaf lastLeaf()
+	{
+		Node node = root;
+		while (node instanceof Inner)
+			node = ((Inner) node).children[node.n];
+		return (Leaf) node;
+	}
+
+
+	/**
+	 * Binary search in the key array of a node.
+	 * @return index of the first key >= target (node.n if none)
+	 */
+	private int lowerBound(Node node, Comparable<T> target)
+	{
+		int lo = 0;
+		int hi = node.n;
+
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+			if (target.compareTo((T) node.keys[mid]) > 0)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+
+	/**
+	 * Binary search in the key array of a node.
+	 * @return index of the first key > target (node.n if none)
+	 */
+	private int upperBound(Node node, Comparable<T> target)
+	{
+		int lo = 0;
+		int hi = node.n;
+
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+			if (target.compareTo((T) node.keys[mid]) >= 0)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+
+	/**
+	 * Inserts x at index i of the first n slots of a, shifting the rest up by one.
+	 */
+	private static void insertAt(Object[] a, int n, int i, Object x)
+	{
+		System.arraycopy(a, i, a, i + 1, n - i);
+		a[i] = x;
+	}
+
+
+	/**
+	 * Removes index i of the first n slots of a, shifting the rest down by one.
+	 */
+	private static void removeAt(Object[] a, int n, int i)
+	{
+		System.arraycopy(a, i + 1, a, i, n - i - 1);
+		a[n - 1] = null;
+	}
+
+
+	/**
+	 * Clears a[from..to-1] so that moved elements can be garbage collected.
+	 */
+	private static void clear(Object[] a, int from, int to)
+	{
+		for (int i = from; i < to; i++)
+			a[i] = null;
+	}
+
+
+	/**
+	 * Node structure; keys[0..n-1] are sorted. Arrays have one spare slot so that a node
+	 * can hold maxKeys + 1 keys just before it is split.
+	 */
+	private static abstract class Node
+	{
+		final Object[] keys;
+		int n;
+
+		Node(int maxKeys)
+		{
+			this.keys = new Object[maxKeys + 1];
+		}
+	}
+
+
+	/**
+	 * Leaf: the keys are the elements; leaves form a doubly linked list in key order.
+	 */
+	private static final class Leaf extends Node
+	{
+		Leaf next;
+		Leaf prev;
+
+		Leaf(int maxKeys)
+		{
+			super(maxKeys);
+		}
+	}
+
+
+	/**
+	 * Inner node: n separators and n + 1 children.
+	 */
+	private static final class Inner extends Node
+	{
+		final Node[] children;
+
+		Inner(int maxKeys)
+		{
+			super(maxKeys);
+			this.children = new Node[maxKeys + 2];
+		}
+	}
+
+
+	/**
+	 * Lazy iterator along the leaf chain, in either direction, optionally stopping at an
+	 * upper bound (ascending only). The tree must not be modified while it is iterated.
+	 */
+	private class LeafIterator implements Iterator<T>
+	{
+		private Leaf leaf;
+		private int i;
+		private final Comparable<T> high;
+		private final boolean highInclusive;
+		private final boolean descending;
+
+		LeafIterator(Leaf leaf, int i, T high, boolean highInclusive, boolean descending)
+		{
+			this.leaf = leaf;
+			this.i = i;
+			this.high = (Comparable<T>) high;
+			this.highInclusive = highInclusive;
+			this.descending = descending;
+			settle();
+		}
+
+		public boolean hasNext()
+		{
+			if (leaf == null)
+				return false;
+			if (high == null)
+				return true;
+
+			int cmp = high.compareTo((T) leaf.keys[i]);
+			return highInclusive ? cmp >= 0 : cmp > 0;
+		}
+
+		public T next()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			T result = (T) leaf.keys[i];
+			i += descending ? -1 : 1;
+			settle();
+			return result;
+		}
+
+		/**
+		 * Moves to the neighbouring leaf when the position has run off the current one.
+		 */
+		private void settle()
+		{
+			while (leaf != null && (i < 0 || i >= leaf.n))
+			{
+				if (descending)
+				{
+					leaf = leaf.prev;
+					if (leaf != null)
+						i = leaf.n - 1;
+				}
+				else
+				{
+					leaf = leaf.next;
+					i = 0;
+				}
+			}
+		}
+	}
+
+}
@@ -1,5 +1,11 @@
 import Helpers.ElementNotFoundException;		// RuntimeException Class
 import Helpers.EmptyCollectionException;		// RuntimeException Class
+import Helpers.ArrayStack;				// Array Stack Data Structure
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 /**
  * Standard linked BinarySearchTree (BST) structure using links.
  * This class inherits BinaryTree<T> class.
@@ -8,16 +14,6 @@ import Helpers.EmptyCollectionException;		// RuntimeException Class
  */
 public class BinarySearchTree<T> extends BinaryTree<T>
 {
-	/**
-	 * Root node of this tree.
-	 */
-	private BinaryTreeNode<T> root;
-	/**
-	 * Number of nodes in this tree that are not null.
-	 */
-	private int numberOfNodes;
-	
-	
 	/**
 	 * Constructor(1) used to create an empty BST (BinarySearchTree).
 	 */
@@ -57,6 +53,8 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 			
 		while (true)
 		{
+			current.adjustSize(1);	// the new node ends up in current's subtree
+			
 			// check if node should go into left subtree
 			if (target.compareTo(current.getElement()) < 0)
 			{
@@ -84,6 +82,183 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 	}
 	
 	
+	/**
+	 * Bulk-loads sorted elements in O(n) instead of n calls to addElement().
+	 * The result is a perfectly balanced tree; elements already in this tree are merged in.
+	 * @param elements Elements in non-decreasing order
+	 * @throws IllegalArgumentException if the elements are not sorted
+	 */
+	public void addAllSorted(T[] elements) throws IllegalArgumentException
+	{
+		bulkLoad(elements, elements.length);
+	}
+	
+	
+	/**
+	 * Bulk-loads sorted elements in O(n); see addAllSorted(T[]).
+	 * @param elements Iterator returning elements in non-decreasing order
+	 * @throws IllegalArgumentException if the elements are not sorted
+	 */
+	public void addAllSorted(Iterator<? extends T> elements) throws IllegalArgumentException
+	{
+		Object[] buffer = new Object[16];
+		int n = 0;
+		
+		while (elements.hasNext())
+		{
+			if (n == buffer.length)
+				buffer = Arrays.copyOf(buffer, n << 1);
+			buffer[n++] = elements.next();
+		}
+		bulkLoad(buffer, n);
+	}
+	
+	
+	/**
+	 * Bulk-loads sorted elements in O(n); see addAllSorted(T[]).
+	 * @param elements Stream of elements in non-decreasing (encounter) order
+	 * @throws IllegalArgumentException if the elements are not sorted
+	 */
+	public void addAllSorted(Stream<? extends T> elements) throws IllegalArgumentException
+	{
+		Object[] array = elements.toArray();
+		bulkLoad(array, array.length);
+	}
+	
+	
+	/**
+	 * Bulk-loads elements in any order: sorts a copy (O(n log n), O(n) if already sorted),
+	 * then builds a balanced tree as addAllSorted() does. The array is left unchanged.
+	 * @param elements Specified elements
+	 */
+	public void addAll(T[] elements)
+	{
+		Object[] sorted = Arrays.copyOf(elements, elements.length, Object[].class);
+		Arrays.sort(sorted);
+		bulkLoad(sorted, sorted.length);
+	}
+	
+	
+	/**
+	 * Bulk-loads elements in any order; see addAll(T[]).
+	 * @param elements Iterator over the specified elements
+	 */
+	public void addAll(Iterator<? extends T> elements)
+	{
+		Object[] buffer = new Object[16];
+		int n = 0;
+		
+		while (elements.hasNext())
+		{
+			if (n == buffer.length)
+				buffer = Arrays.copyOf(buffer, n << 1);
+			buffer[n++] = elements.next();
+		}
+		Arrays.sort(buffer, 0, n);
+		bulkLoad(buffer, n);
+	}
+	
+	
+	/**
+	 * Creates the node that stores a new element; subclasses with their own node type
+	 * (such as AVLTree) override this.
+	 * @param element Specified element
+	 * @return a new leaf node holding the element
+	 */
+	protected BinaryTreeNode<T> newNode(T element)
+	{
+		return new BinaryTreeNode<T>(element);
+	}
+	
+	
+	/**
+	 * Helper method for addAllSorted() and addAll().
+	 * Checks the order, merges the current content of this tree (read in-order), and
+	 * replaces the tree with a perfectly balanced one built from the merged elements.
+	 * @param sorted Elements in non-decreasing order
+	 * @param n Number of elements in use
+	 * @throws IllegalArgumentException if the elements are not sorted
+	 */
+	private void bulkLoad(Object[] sorted, int n) throws IllegalArgumentException
+	{
+		for (int i = 1; i < n; i++)
+		{
+			if (((Comparable<T>) sorted[i - 1]).compareTo((T) sorted[i]) > 0)
+				throw new IllegalArgumentException("elements are not sorted at index " + i);
+		}
+		
+		if (!isEmpty())
+		{
+			Object[] merged = new Object[numberOfNodes + n];
+			Iterator<T> existing = iteratorInOrder();
+			T next = existing.next();
+			int i = 0;
+			int k = 0;
+			
+			// stable merge: on ties the elements already in the tree come first
+			while (next != null && i < n)
+			{
+				if (((Comparable<T>) sorted[i]).compareTo(next) < 0)
+					merged[k++] = sorted[i++];
+				else
+				{
+					merged[k++] = next;
+					next = existing.hasNext() ? existing.next() : null;
+				}
+			}
+			while (next != null)
+			{
+				merged[k++] = next;
+				next = existing.hasNext() ? existing.next() : null;
+			}
+			while (i < n)
+				merged[k++] = sorted[i++];
+			
+			sorted = merged;
+			n = k;
+		}
+		
+		root = buildBalanced(sorted, n);
+		numberOfNodes = n;
+	}
+	
+	
+	/**
+	 * Helper method for bulkLoad(); subclasses that store equal elements differently
+	 * (such as MultisetBinarySearchTree) override this.
+	 * @param sorted Sorted elements
+	 * @param n Number of elements in use
+	 * @return the root of a perfectly balanced tree holding sorted[0..n-1]
+	 */
+	protected BinaryTreeNode<T> buildBalanced(Object[] sorted, int n)
+	{
+		return build(sorted, 0, n - 1);
+	}
+	
+	
+	/**
+	 * Helper method for bulkLoad().
+	 * The middle element becomes the root, so the depths of any two leaves differ by at most
+	 * one. Recursion depth is log2(n); children are linked before their parent is returned,
+	 * so subtree sizes (and AVL heights) are computed on the way up.
+	 * @param sorted Sorted elements
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (inclusive)
+	 * @return the root of the subtree holding sorted[lo..hi]; null if the range is empty
+	 */
+	private BinaryTreeNode<T> build(Object[] sorted, int lo, int hi)
+	{
+		if (lo > hi)
+			return null;
+		
+		int mid = (lo + hi) >>> 1;
+		BinaryTreeNode<T> node = newNode((T) sorted[mid]);
+		node.setLeft(build(sorted, lo, mid - 1));
+		node.setRight(build(sorted, mid + 1, hi));
+		return node;
+	}
+	
+	
 	/**
 	 * @param targetElement Specified element
 	 * @return a reference to the first element that matches the specified target element
@@ -118,6 +293,8 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 			// check if target is found
 			if (target.compareTo(current.getElement()) == 0)
 			{
+				shrinkPathTo(current);	// every ancestor loses one node
+				
 				if (current.equals(parent.getLeft()))
 					parent.setLeft(replacement(current));	// replace current node's spot
 				else
@@ -189,6 +366,7 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 		current = current.getLeft();
 		while (current.getLeft() != null)
 		{
+			parent.adjustSize(-1);	// the last parent is relinked below instead
 			parent = current;
 			current = current.getLeft();
 		}
@@ -223,6 +401,7 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 		current = current.getRight();
 		while (current.getRight() != null)
 		{
+			parent.adjustSize(-1);	// the last parent is relinked below instead
 			parent = current;
 			current = current.getRight();
 		}
@@ -317,6 +496,280 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 	}
 	
 	
+	/**
+	 * Descendant count in O(height) instead of the full walk of
+	 * BinaryTreeNode.getNumberOfDescendants(): the search is the only cost.
+	 * @param targetElement Specified element
+	 * @return number of elements below the first node that matches the target
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public int getNumberOfDescendants(T targetElement) throws ElementNotFoundException
+	{
+		BinaryTreeNode<T> node = isEmpty() ? null : findAgain(targetElement, root);
+		if (node == null)
+			throw new ElementNotFoundException("Binary Search Tree");
+		
+		return numberOfDescendants(node);
+	}
+	
+	
+	/**
+	 * O(1) descendant count: every node of this tree stores the exact size of its subtree.
+	 * @param node Node of this tree
+	 * @return number of elements below the specified node
+	 */
+	protected int numberOfDescendants(BinaryTreeNode<T> node)
+	{
+		return BinaryTreeNode.size(node) - node.getCount();
+	}
+	
+	
+	/**
+	 * Order statistic: the element with the specified rank, in O(height) using subtree sizes.
+	 * @param k 0-based position in sorted order (0 = least element)
+	 * @return the k-th smallest element; equal elements occupy consecutive positions
+	 * @throws IndexOutOfBoundsException if k < 0 or k >= size()
+	 */
+	public T select(int k) throws IndexOutOfBoundsException
+	{
+		if (k < 0 || k >= numberOfNodes)
+			throw new IndexOutOfBoundsException("rank " + k + ", size " + numberOfNodes);
+		
+		BinaryTreeNode<T> current = root;
+		while (true)
+		{
+			int leftSize = BinaryTreeNode.size(current.getLeft());
+			
+			if (k < leftSize)
+				current = current.getLeft();
+			else if (k < leftSize + current.getCount())
+				return current.getElement();
+			else
+			{
+				k -= leftSize + current.getCount();	// skip the left subtree and current
+				current = current.getRight();
+			}
+		}
+	}
+	
+	
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return number of elements in this tree that are less than the specified element
+	 */
+	public int rank(T element)
+	{
+		return countBelow(element, false);
+	}
+	
+	
+	/**
+	 * @param low Lower bound (inclusive)
+	 * @param high Upper bound (inclusive)
+	 * @return number of elements x in this tree with low <= x <= high; 0 if low > high
+	 */
+	public int countRange(T low, T high)
+	{
+		if (((Comparable<T>) low).compareTo(high) > 0)
+			return 0;
+		return countBelow(high, true) - countBelow(low, false);
+	}
+	
+	
+	/**
+	 * Helper method for rank() and countRange().
+	 * Walks one path from the root and adds up the sizes of the subtrees left of it.
+	 * @param element Specified element
+	 * @param inclusive true to also count elements equal to the specified element
+	 * @return number of elements less than (or, if inclusive, not greater than) the element
+	 */
+	private int countBelow(T element, boolean inclusive)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		BinaryTreeNode<T> current = root;
+		int count = 0;
+		
+		while (current != null)
+		{
+			int cmp = target.compareTo(current.getElement());
+			
+			if (cmp < 0 || (cmp == 0 && !inclusive))
+				current = current.getLeft();
+			else
+			{
+				// current and its whole left subtree are counted
+				count += BinaryTreeNode.size(current.getLeft()) + current.getCount();
+				current = current.getRight();
+			}
+		}
+		return count;
+	}
+	
+	
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return the greatest element less than or equal to the specified element; null if none
+	 */
+	public T floor(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		BinaryTreeNode<T> current = root;
+		T result = null;
+		
+		while (current != null)
+		{
+			int cmp = target.compareTo(current.getElement());
+			
+			if (cmp == 0)
+				return current.getElement();
+			if (cmp < 0)
+				current = current.getLeft();
+			else
+			{
+				result = current.getElement();	// candidate; look for a closer one on the right
+				current = current.getRight();
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return the least element greater than or equal to the specified element; null if none
+	 */
+	public T ceiling(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		BinaryTreeNode<T> current = root;
+		T result = null;
+		
+		while (current != null)
+		{
+			int cmp = target.compareTo(current.getElement());
+			
+			if (cmp == 0)
+				return current.getElement();
+			if (cmp > 0)
+				current = current.getRight();
+			else
+			{
+				result = current.getElement();	// candidate; look for a closer one on the left
+				current = current.getLeft();
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return the least element strictly greater than the specified element; null if none
+	 */
+	public T higher(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		BinaryTreeNode<T> current = root;
+		T result = null;
+		
+		while (current != null)
+		{
+			if (target.compareTo(current.getElement()) < 0)
+			{
+				result = current.getElement();
+				current = current.getLeft();
+			}
+			else
+				current = current.getRight();
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return the greatest element strictly less than the specified element; null if none
+	 */
+	public T lower(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		BinaryTreeNode<T> current = root;
+		T result = null;
+		
+		while (current != null)
+		{
+			if (target.compareTo(current.getElement()) > 0)
+			{
+				result = current.getElement();
+				current = current.getRight();
+			}
+			else
+				current = current.getLeft();
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Copies this tree into an immutable, cache-friendly array layout for read-mostly use.
+	 * Later changes to this tree are not reflected in the frozen copy.
+	 * @return a FrozenBinarySearchTree holding the elements of this tree
+	 */
+	public FrozenBinarySearchTree<T> freeze()
+	{
+		return new FrozenBinarySearchTree<T>(iteratorInOrder(), numberOfNodes);
+	}
+	
+	
+	/**
+	 * @return an in-order Spliterator that also reports SIZED (every node stores the exact
+	 * 		   size of its subtree) and SORTED (natural order)
+	 */
+	public Spliterator<T> spliterator()
+	{
+		return new BinaryTreeSpliterator<T>(root, true);
+	}
+	
+	
+	/**
+	 * @return a lazy iterator over this tree from the highest to the least element
+	 */
+	public Iterator<T> iteratorDescending()
+	{
+		return new RangeIterator(null, true, null, true, true);
+	}
+	
+	
+	/**
+	 * Lazy ascending iterator over the elements between two bounds. Subtrees that lie
+	 * entirely outside the range are never entered, so a scan that returns k elements
+	 * costs O(height + k).
+	 * @param low Lower bound; null for no lower bound
+	 * @param lowInclusive true if elements equal to low are included
+	 * @param high Upper bound; null for no upper bound
+	 * @param highInclusive true if elements equal to high are included
+	 * @return an iterator over the elements in the range, in increasing order
+	 */
+	public Iterator<T> rangeIterator(T low, boolean lowInclusive, T high, boolean highInclusive)
+	{
+		return new RangeIterator(low, lowInclusive, high, highInclusive, false);
+	}
+	
+	
+	/**
+	 * Lazy descending version of rangeIterator().
+	 * @param low Lower bound; null for no lower bound
+	 * @param lowInclusive true if elements equal to low are included
+	 * @param high Upper bound; null for no upper bound
+	 * @param highInclusive true if elements equal to high are included
+	 * @return an iterator over the elements in the range, in decreasing order
+	 */
+	public Iterator<T> descendingRangeIterator(T low, boolean lowInclusive, T high, boolean highInclusive)
+	{
+		return new RangeIterator(low, lowInclusive, high, highInclusive, true);
+	}
+	
+	
 	/**
 	 * Helper method for find().
 	 * @param targetElement Specified element
@@ -344,6 +797,28 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 	}
 	
 	
+	/**
+	 * Helper method for removeElement().
+	 * Subtracts the elements of the specified node from the subtree size of every ancestor;
+	 * the node is about to be unlinked from its parent.
+	 * @param node Node to be removed (the first match on its search path)
+	 */
+	private void shrinkPathTo(BinaryTreeNode<T> node)
+	{
+		Comparable<T> target = (Comparable<T>) node.getElement();
+		BinaryTreeNode<T> current = root;
+		
+		while (current != node)
+		{
+			current.adjustSize(-node.getCount());
+			if (target.compareTo(current.getElement()) < 0)
+				current = current.getLeft();
+			else
+				current = current.getRight();
+		}
+	}
+	
+	
 	/**
 	 * Helper method for removeElement().
 	 * @param node Specified node
@@ -372,6 +847,10 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 				parent = current;
 				current = current.getLeft();
 		}
+		
+		// the successor is moved out of the subtrees on its path
+		for (BinaryTreeNode<T> n = node.getRight(); n != current; n = n.getLeft())
+				n.adjustSize(-current.getCount());
 
 		// 2. Replace given node with the smallest node (current) in its right subtree.
 		if (node.getRight().equals(current))
@@ -387,4 +866,111 @@ public class BinarySearchTree<T> extends BinaryTree<T>
 		return current;
 	}
 	
+	
+	/**
+	 * Lazy in-order iterator restricted to [low, high], in either direction.
+	 * Ascending, the stack holds the pruned left spine of the subtree still to be visited:
+	 * a node below the range is skipped together with its left subtree. Iteration stops at
+	 * the first node above the range, since every later node is greater still. Descending
+	 * mirrors this with right spines. The tree must not be modified while it is iterated.
+	 */
+	private class RangeIterator implements Iterator<T>
+	{
+		private final ArrayStack<BinaryTreeNode<T>> stack = new ArrayStack<BinaryTreeNode<T>>();
+		/**
+		 * Node being returned and how many more times (counted nodes repeat their element).
+		 */
+		private BinaryTreeNode<T> current;
+		private int copiesLeft;
+		private final Comparable<T> low;
+		private final Comparable<T> high;
+		private final boolean lowInclusive;
+		private final boolean highInclusive;
+		private final boolean descending;
+		
+		RangeIterator(T low, boolean lowInclusive, T high, boolean highInclusive, boolean descending)
+		{
+			this.low = (Comparable<T>) low;
+			this.high = (Comparable<T>) high;
+			this.lowInclusive = lowInclusive;
+			this.highInclusive = highInclusive;
+			this.descending = descending;
+			pushSpine(root);
+		}
+		
+		public boolean hasNext()
+		{
+			if (copiesLeft > 0)
+				return true;
+			if (stack.isEmpty())
+				return false;
+			
+			// the top is the next node in order; past the far bound means the scan is over
+			T next = stack.peek().getElement();
+			return descending ? !belowLow(next) : !aboveHigh(next);
+		}
+		
+		public T next()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+			
+			if (copiesLeft == 0)
+			{
+				current = stack.pop();
+				copiesLeft = current.getCount();
+				pushSpine(descending ? current.getLeft() : current.getRight());
+			}
+			copiesLeft--;
+			return current.getElement();
+		}
+		
+		/**
+		 * Pushes the spine leading to the first in-range node of the specified subtree,
+		 * skipping every node (and the subtree behind it) that lies before the near bound.
+		 */
+		private void pushSpine(BinaryTreeNode<T> node)
+		{
+			while (node != null)
+			{
+				if (descending)
+				{
+					if (aboveHigh(node.getElement()))
+						node = node.getLeft();
+					else
+					{
+						stack.push(node);
+						node = node.getRight();
+					}
+				}
+				else
+				{
+					if (belowLow(node.getElement()))
+						node = node.getRight();
+					else
+					{
+						stack.push(node);
+						node = node.getLeft();
+					}
+				}
+			}
+		}
+		
+		private boolean belowLow(T element)
+		{
+			if (low == null)
+				return false;
+			int cmp = low.compareTo(element);
+			return lowInclusive ? cmp > 0 : cmp >= 0;
+		}
+		
+		private boolean aboveHigh(T element)
+		{
+			if (high == null)
+				return false;
+			int cmp = high.compareTo(element);
+			return highInclusive ? cmp < 0 : cmp <= 0;
+		}
+	}
+	
 }
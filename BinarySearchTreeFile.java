@@ -0,0 +1,358 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+/**
+ * Compact binary file format for BinarySearchTree contents.
+ * A tree is stored as its elements in sorted (in-order) order, each encoded with a
+ * fixed width by a Codec, behind a small header:
+ *
+ * 		offset	size	field
+ * 		0		4		magic "BSTF"
+ * 		4		4		format version (1)
+ * 		8		4		element width in bytes
+ * 		12		4		reserved (0)
+ * 		16		8		number of elements
+ * 		24		n*w		elements in sorted order (big-endian)
+ *
+ * The shape is not stored: load() rebuilds a perfectly balanced tree in O(n) with
+ * addAllSorted(), and map() serves read-only lookups by binary search straight from the
+ * memory-mapped file without creating any node. Mappings of the same file share the
+ * operating system's page cache, also across JVMs.
+ * @author Tsuki
+ *
+ */
+public class BinarySearchTreeFile
+{
+	/**
+	 * First four bytes of every file: "BSTF".
+	 */
+	public static final int MAGIC = 0x42535446;
+	/**
+	 * Format version written by this class.
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * Header size in bytes.
+	 */
+	public static final int HEADER_BYTES = 24;
+	/**
+	 * Size of the direct buffer used for writing.
+	 */
+	private static final int IO_BUFFER_BYTES = 1 << 16;
+
+	/**
+	 * Codec for Integer elements (4 bytes).
+	 */
+	public static final Codec<Integer> INT = new Codec<Integer>()
+	{
+		public int width()
+		{
+			return Integer.BYTES;
+		}
+
+		public void write(ByteBuffer buffer, Integer element)
+		{
+			buffer.putInt(element);
+		}
+
+		public Integer read(ByteBuffer buffer, int position)
+		{
+			return buffer.getInt(position);
+		}
+
+		public int compare(Integer target, ByteBuffer buffer, int position)
+		{
+			return Integer.compare(target, buffer.getInt(position));
+		}
+	};
+
+	/**
+	 * Codec for Long elements (8 bytes).
+	 */
+	public static final Codec<Long> LONG = new Codec<Long>()
+	{
+		public int width()
+		{
+			return Long.BYTES;
+		}
+
+		public void write(ByteBuffer buffer, Long element)
+		{
+			buffer.putLong(element);
+		}
+
+		public Long read(ByteBuffer buffer, int position)
+		{
+			return buffer.getLong(position);
+		}
+
+		public int compare(Long target, ByteBuffer buffer, int position)
+		{
+			return Long.compare(target, buffer.getLong(position));
+		}
+	};
+
+
+	/**
+	 * Fixed-width binary encoding of the elements.
+	 * The encoding must not depend on the buffer's byte order setting beyond what the
+	 * ByteBuffer methods do (files are always big-endian).
+	 */
+	public interface Codec<T>
+	{
+		/**
+		 * @return number of bytes of every encoded element
+		 */
+		int width();
+
+		/**
+		 * Writes the element at the buffer's position and advances it by width() bytes.
+		 */
+		void write(ByteBuffer buffer, T element);
+
+		/**
+		 * @return the element encoded at the specified absolute position
+		 */
+		T read(ByteBuffer buffer, int position);
+
+		/**
+		 * Compares a target with an encoded element; codecs may override this to compare
+		 * without decoding.
+		 * @return negative, zero or positive as target is less than, equal to or greater than the element
+		 */
+		default int compare(T target, ByteBuffer buffer, int position)
+		{
+			return ((Comparable<T>) target).compareTo(read(buffer, position));
+		}
+	}
+
+
+	/**
+	 * Writes the elements of the tree to a file (created or truncated).
+	 * @param tree Tree to be written
+	 * @param file Output file
+	 * @param codec Encoding of the elements
+	 * @throws IOException if the file cannot be written
+	 */
+	public static <T> void write(BinarySearchTree<T> tree, Path file, Codec<T> codec) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(IO_BUFFER_BYTES, HEADER_BYTES + codec.width()));
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+		{
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(codec.width()).putInt(0).putLong(tree.size());
+
+			Iterator<T> elements = tree.iteratorInOrder();
+			while (elements.hasNext())
+			{
+				if (buffer.remaining() < codec.width())
+					flush(channel, buffer);
+				codec.write(buffer, elements.next());
+			}
+			flush(channel, buffer);
+		}
+	}
+
+
+	/**
+	 * Adds the elements stored in a file to a tree: O(n) for an empty tree (see
+	 * BinarySearchTree.addAllSorted()). Pass an AVLTree to load into an AVL tree.
+	 * @param file Input file written by write()
+	 * @param codec Encoding of the elements
+	 * @param tree Tree receiving the elements
+	 * @throws IOException if the file cannot be read or is not a valid tree file
+	 */
+	public static <T> void load(Path file, Codec<T> codec, BinarySearchTree<T> tree) throws IOException
+	{
+		MappedView<T> view = map(file, codec);
+		tree.addAllSorted(view.iterator());
+	}
+
+
+	/**
+	 * Memory-maps a file for read-only lookups; no element is decoded until it is probed.
+	 * @param file Input file written by write()
+	 * @param codec Encoding of the elements
+	 * @return a read-only view of the sorted elements
+	 * @throws IOException if the file cannot be read or is not a valid tree file
+	 */
+	public static <T> MappedView<T> map(Path file, Codec<T> codec) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			long bytes = channel.size();
+			if (bytes < HEADER_BYTES)
+				throw new IOException(file + ": not a tree file (too short)");
+			if (bytes > Integer.MAX_VALUE)
+				throw new IOException(file + ": too large to map in one buffer (" + bytes + " bytes)");
+
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+			if (buffer.getInt(0) != MAGIC)
+				throw new IOException(file + ": not a tree file (bad magic)");
+			if (buffer.getInt(4) != VERSION)
+				throw new IOException(file + ": unsupported format version " + buffer.getInt(4));
+			if (buffer.getInt(8) != codec.width())
+				throw new IOException(file + ": element width " + buffer.getInt(8) + " does not match the codec");
+
+			long count = buffer.getLong(16);
+			if (count < 0 || HEADER_BYTES + count * codec.width() != bytes)
+				throw new IOException(file + ": truncated or corrupt (" + count + " elements, " + bytes + " bytes)");
+
+			return new MappedView<T>(buffer, codec, (int) count);
+		}
+	}
+
+
+	/**
+	 * Writes the buffered bytes to the channel and clears the buffer.
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+
+	/**
+	 * Read-only view of a mapped tree file. Lookups binary search the mapping; with the
+	 * default codecs a probe compares primitives in place and allocates nothing.
+	 */
+	public static final class MappedView<T>
+	{
+		private final ByteBuffer buffer;
+		private final Codec<T> codec;
+		private final int width;
+		private final int n;
+
+		private MappedView(ByteBuffer buffer, Codec<T> codec, int n)
+		{
+			this.buffer = buffer;
+			this.codec = codec;
+			this.width = codec.width();
+			this.n = n;
+		}
+
+		/**
+		 * @param targetElement Specified element
+		 * @return the stored element equal to the target
+		 * @throws ElementNotFoundException if specified element does not exist in the file
+		 */
+		public T find(T targetElement) throws ElementNotFoundException
+		{
+			int i = lowerBound(targetElement);
+			if (i == n || codec.compare(targetElement, buffer, position(i)) != 0)
+				throw new ElementNotFoundException("Mapped Binary Search Tree");
+			return codec.read(buffer, position(i));
+		}
+
+		/**
+		 * @param targetElement Specified element
+		 * @return true if the file contains an element equal to the specified one
+		 */
+		public boolean contains(T targetElement)
+		{
+			int i = lowerBound(targetElement);
+			return i < n && codec.compare(targetElement, buffer, position(i)) == 0;
+		}
+
+		/**
+		 * @param element Specified element
+		 * @return the greatest element less than or equal to the specified element; null if none
+		 */
+		public T floor(T element)
+		{
+			int i = lowerBound(element);
+			if (i < n && codec.compare(element, buffer, position(i)) == 0)
+				return codec.read(buffer, position(i));
+			return i == 0 ? null : codec.read(buffer, position(i - 1));
+		}
+
+		/**
+		 * @param element Specified element
+		 * @return the least element greater than or equal to the specified element; null if none
+		 */
+		public T ceiling(T element)
+		{
+			int i = lowerBound(element);
+			return i == n ? null : codec.read(buffer, position(i));
+		}
+
+		/**
+		 * @param index 0-based position in sorted order
+		 * @return the element at that position
+		 * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+		 */
+		public T get(int index) throws IndexOutOfBoundsException
+		{
+			if (index < 0 || index >= n)
+				throw new IndexOutOfBoundsException("index " + index + ", size " + n);
+			return codec.read(buffer, position(index));
+		}
+
+		/**
+		 * @return number of elements in the file
+		 */
+		public int size()
+		{
+			return n;
+		}
+
+		/**
+		 * @return an iterator decoding the elements in sorted order
+		 */
+		public Iterator<T> iterator()
+		{
+			return new Iterator<T>()
+			{
+				private int i = 0;
+
+				public boolean hasNext()
+				{
+					return i < n;
+				}
+
+				public T next()
+				{
+					if (i >= n)
+						throw new NoSuchElementException();
+					return codec.read(buffer, position(i++));
+				}
+			};
+		}
+
+		/**
+		 * @return index of the first element >= target (n if none)
+		 */
+		private int lowerBound(T target)
+		{
+			int lo = 0;
+			int hi = n;
+
+			while (lo < hi)
+			{
+				int mid = (lo + hi) >>> 1;
+				if (codec.compare(target, buffer, position(mid)) > 0)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			return lo;
+		}
+
+		private int position(int index)
+		{
+			return HEADER_BYTES + index * width;
+		}
+	}
+
+}
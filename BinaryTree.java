@@ -1,5 +1,19 @@
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import Helpers.EmptyCollectionException;	// Runtime Exception Class
+import Helpers.ArrayStack;			// Array Stack Data Structure
+import Helpers.IntArrayStack;			// Primitive Int Stack Data Structure
 import Helpers.LinkedQueue;			// Linked Queue Data Structure
 import Helpers.ArrayUnorderedList;		// Unordered ArrayList Data Structure
 /**
@@ -9,14 +23,18 @@ import Helpers.ArrayUnorderedList;		// Unordered ArrayList Data Structure
  */
 public class BinaryTree<T>
 {
+	/**
+	 * Tree size up to which the parallel queries run sequentially in a single task.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 13;
 	/**
 	 * Root node of this tree.
 	 */
-	private BinaryTreeNode<T> root;
+	protected BinaryTreeNode<T> root;
 	/**
 	 * Number of nodes in this tree that are not null.
 	 */
-	private int numberOfNodes;
+	protected int numberOfNodes;
 	
 	
 	/**
@@ -152,121 +170,357 @@ public class BinaryTree<T>
 	
 	
 	/**
-	 * @return a pre-order iterator over this tree
+	 * Parallel version of contains() for large trees, run on the common pool.
+	 * @param targetElement Target element to be sought
+	 * @return true if targetElement exists in this tree; false otherwise
 	 */
-	public Iterator<T> iteratorPreOrder()
+	public boolean parallelContains(T targetElement)
 	{
-		ArrayUnorderedList<T> list = new ArrayUnorderedList<T>(); 
-		preorder(root, list);
+		return parallelContains(targetElement, ForkJoinPool.commonPool());
+	}
+	
+	
+	/**
+	 * Parallel version of contains(): the top levels of the tree are split into separate
+	 * fork/join tasks (see splitDepth()), and all tasks stop as soon as any of them finds
+	 * a match.
+	 * @param targetElement Target element to be sought
+	 * @param pool Pool the tasks run on
+	 * @return true if targetElement exists in this tree; false otherwise
+	 */
+	public boolean parallelContains(T targetElement, ForkJoinPool pool)
+	{
+		if (root == null)
+			return false;
 		
-		return list.iterator();
+		AtomicBoolean found = new AtomicBoolean(false);
+		pool.invoke(new ContainsTask<T>(root, targetElement, found, splitDepth(pool)));
+		return found.get();
+	}
+	
+	
+	/**
+	 * Parallel version of height() for large trees, run on the common pool.
+	 * @return the height of this tree
+	 */
+	public int parallelHeight()
+	{
+		return parallelHeight(ForkJoinPool.commonPool());
+	}
+	
+	
+	/**
+	 * Parallel version of height(): the top levels of the tree are split into separate
+	 * fork/join tasks (see splitDepth()).
+	 * @param pool Pool the tasks run on
+	 * @return the height of this tree
+	 */
+	public int parallelHeight(ForkJoinPool pool)
+	{
+		if (root == null)
+			return -1;
+		return pool.invoke(new HeightTask<T>(root, 0, splitDepth(pool)));
+	}
+	
+	
+	/**
+	 * Parallel node count for large trees, run on the common pool.
+	 * @return number of nodes reachable from the root
+	 */
+	public int parallelNumberOfNodes()
+	{
+		return parallelNumberOfNodes(ForkJoinPool.commonPool());
+	}
+	
+	
+	/**
+	 * Parallel version of root.getNumberOfDescendants() + 1: counts the nodes by walking
+	 * the tree, so unlike size() it is correct however the nodes were linked. The top
+	 * levels of the tree are split into separate fork/join tasks (see splitDepth()).
+	 * @param pool Pool the tasks run on
+	 * @return number of nodes reachable from the root
+	 */
+	public int parallelNumberOfNodes(ForkJoinPool pool)
+	{
+		if (root == null)
+			return 0;
+		return pool.invoke(new CountTask<T>(root, splitDepth(pool)));
+	}
+	
+	
+	/**
+	 * Helper method for the parallel queries.
+	 * Stored subtree sizes are not trusted here (nodes linked by hand may hold stale ones),
+	 * so the split follows the structure: every node with two children on the top levels
+	 * hands one child to a new task, until a task has split this many times. That yields
+	 * up to 2^depth tasks on a balanced tree, about four per worker.
+	 * @param pool Pool the tasks run on
+	 * @return number of times a task may split; 0 (sequential) for trees up to PARALLEL_THRESHOLD nodes
+	 */
+	private int splitDepth(ForkJoinPool pool)
+	{
+		if (numberOfNodes <= PARALLEL_THRESHOLD)
+			return 0;
+		return 33 - Integer.numberOfLeadingZeros(pool.getParallelism());
 	}
 	
 	
 	/**
-	 * Helper method for iteratorPreOrder().
-	 * Performs a recursive pre-order traversal.
+	 * @return a lazy pre-order iterator over this tree
+	 */
+	public Iterator<T> iteratorPreOrder()
+	{
+		return new PreOrderIterator(root);
+	}
+	
+	
+	/**
+	 * Helper method that collects a subtree in pre-order.
+	 * Iterative, so degenerate trees cannot overflow the call stack.
 	 * @param node Current node
 	 * @param list Temporary list storing nodes in pre-order traversal
 	 */
 	protected void preorder(BinaryTreeNode<T> node, ArrayUnorderedList<T> list)
 	{
-		if (node == null)
-			return;
-		
-		list.addToRear(node.getElement());
-		preorder(node.getLeft(), list);
-		preorder(node.getRight(), list);
+		drain(new PreOrderIterator(node), list);
 	}
 
 	
 	/**
-	 * @return Returns an in-order iterator over this tree.
+	 * @return a lazy in-order iterator over this tree
 	 */
 	public Iterator<T> iteratorInOrder() 
 	{
-		ArrayUnorderedList<T> list = new ArrayUnorderedList<T>();
-		inorder(root, list);
-		
-		return list.iterator();
+		return new InOrderIterator(root);
 	}
 
 	
 	/**
-	 * Helper method for iteratorInOrder()
-	 * Performs a recursive in-order traversal.
+	 * Helper method that collects a subtree in in-order.
+	 * Iterative, so degenerate trees cannot overflow the call stack.
 	 * @param node Current node
 	 * @param list Temporary list storing nodes in in-order traversal
 	 */
 	protected void inorder(BinaryTreeNode<T> node, ArrayUnorderedList<T> list)
 	{
-		if (node == null)
-			return;
-		
-		inorder(node.getLeft(), list);
-		list.addToRear(node.getElement());
-		inorder(node.getRight(), list);
+		drain(new InOrderIterator(node), list);
 	}
 	
 
 	/**
-	 * @return a post-order iterator over this tree
+	 * @return a lazy post-order iterator over this tree
 	 */
 	public Iterator<T> iteratorPostOrder() 
 	{
-		ArrayUnorderedList<T> list = new ArrayUnorderedList<T>();
-		postorder(root, list);
-		
-		return list.iterator();
+		return new PostOrderIterator(root);
 	}
 	
 	
 	/**
-	 * Helper method for iteratorPostOrder().
-	 * Performs a recursive post-order traversal.
+	 * Helper method that collects a subtree in post-order.
+	 * Iterative, so degenerate trees cannot overflow the call stack.
 	 * @param node Current node
 	 * @param list Temporary list storing nodes in post-order traversal
 	 */
 	protected void postorder(BinaryTreeNode<T> node, ArrayUnorderedList<T> list)
 	{
-		if (node == null)
-			return;
-		
-		postorder(node.getLeft(), list);
-		postorder(node.getRight(), list);
-		list.addToRear(node.getElement());
+		drain(new PostOrderIterator(node), list);
 	}
 	
 
 	/**
-	 * @return a level-order iterator over this tree
+	 * @return a lazy level-order iterator over this tree
 	 */
 	public Iterator<T> iteratorLevelOrder() 
 	{
-		ArrayUnorderedList<T> list = new ArrayUnorderedList<T>();
+		return new LevelOrderIterator(root);
+	}
+	
+	
+	/**
+	 * Nodes linked by hand may store stale subtree sizes, so the Spliterator reports
+	 * size() as an estimate rather than SIZED (BinarySearchTree overrides this).
+	 * @return an in-order Spliterator that splits at subtree boundaries (ORDERED)
+	 */
+	public Spliterator<T> spliterator()
+	{
+		return new BinaryTreeSpliterator<T>(root, (long) numberOfNodes);
+	}
+	
+	
+	/**
+	 * @return a sequential Stream over the elements in in-order
+	 */
+	public Stream<T> stream()
+	{
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	
+	/**
+	 * Parallel Stream over the elements in in-order; the work is divided by splitting the
+	 * tree into subtrees, without copying the elements first.
+	 * @return a parallel Stream over the elements
+	 */
+	public Stream<T> parallelStream()
+	{
+		return StreamSupport.stream(spliterator(), true);
+	}
+	
+	
+	/**
+	 * Performs the given action on every element in in-order.
+	 * Uses Morris threading: O(1) extra space and no allocation per visited node.
+	 * The action must not modify this tree (see visitInOrder).
+	 * @param action Action performed on each element
+	 */
+	public void forEachInOrder(Consumer<? super T> action)
+	{
+		morrisInOrder(element -> {
+			action.accept(element);
+			return true;
+		});
+	}
+	
+	
+	/**
+	 * Short-circuiting in-order visitor: elements are passed to the visitor in in-order
+	 * until it returns false, which makes searches stop at the first match.
+	 * Uses Morris threading: while the traversal runs, the empty right link of each in-order
+	 * predecessor temporarily points back to its successor. Every link is restored before this
+	 * method returns, also after an early stop or an exception thrown by the visitor, but the
+	 * visitor must not modify this tree and the tree must not be read by other threads meanwhile.
+	 * @param visitor Returns true to continue, false to stop
+	 * @return true if every element was visited; false if the visitor stopped the traversal
+	 */
+	public boolean visitInOrder(Predicate<? super T> visitor)
+	{
+		return morrisInOrder(visitor);
+	}
+	
+	
+	/**
+	 * Primitive in-order reduction without boxing, e.g. reduceInOrder(0, Item::weight, Long::sum).
+	 * Uses the same Morris traversal as visitInOrder.
+	 * @param identity Initial value of the accumulator
+	 * @param mapper Maps each element to a long
+	 * @param op Combines the accumulator with the mapped value of the next element
+	 * @return the reduced value (identity for an empty tree)
+	 */
+	public long reduceInOrder(long identity, ToLongFunction<? super T> mapper, LongBinaryOperator op)
+	{
+		LongReducer<T> reducer = new LongReducer<T>(identity, mapper, op);
+		morrisInOrder(reducer);
+		return reducer.result;
+	}
+	
+	
+	/**
+	 * Helper method for the in-order visitors.
+	 * Morris traversal: a node with a left subtree is reached twice. The first time, the right
+	 * link of its in-order predecessor (the rightmost node of the left subtree) is threaded to
+	 * it and the walk descends left; the second time, arriving over that thread, the thread is
+	 * removed, the node is visited and the walk continues right.
+	 * @param visitor Returns true to continue, false to stop
+	 * @return true if every element was visited; false if the visitor stopped the traversal
+	 */
+	private boolean morrisInOrder(Predicate<? super T> visitor)
+	{
+		BinaryTreeNode<T> current = root;
 		
-		if (isEmpty())
+		while (current != null)
 		{
-			list.addToFront(null);
-			return list.iterator();
+			if (current.getLeft() == null)
+			{
+				if (!visit(current, visitor))
+					return false;
+				current = current.getRight();
+			}
+			else
+			{
+				BinaryTreeNode<T> predecessor = predecessorOf(current);
+				
+				if (predecessor.getRight() == null)
+				{
+					// first arrival: thread the predecessor back to current, then descend
+					predecessor.setRight(current);
+					current = current.getLeft();
+				}
+				else
+				{
+					// second arrival over the thread: the left subtree is done
+					predecessor.setRight(null);
+					if (!visit(current, visitor))
+						return false;
+					current = current.getRight();
+				}
+			}
+		}
+		return true;
+	}
+	
+	
+	/**
+	 * Passes the node's element to the visitor, once per occurrence the node counts.
+	 * If the visitor stops the traversal or throws,
+	 * the threads still in place are removed first.
+	 * @param node Node being visited
+	 * @param visitor Specified visitor
+	 * @return the visitor's answer
+	 */
+	private boolean visit(BinaryTreeNode<T> node, Predicate<? super T> visitor)
+	{
+		boolean keepGoing = true;
+		try
+		{
+			for (int copies = node.getCount(); copies > 0 && keepGoing; copies--)
+				keepGoing = visitor.test(node.getElement());
+		}
+		catch (Throwable t)
+		{
+			unthread(node.getRight());
+			throw t;
 		}
 		
-		BinaryTreeNode<T> current = root;
-		LinkedQueue<BinaryTreeNode<T>> queue = new LinkedQueue<BinaryTreeNode<T>>();
-		queue.enqueue(current);
-			
-		while (!queue.isEmpty())
+		if (!keepGoing)
+			unthread(node.getRight());
+		return keepGoing;
+	}
+	
+	
+	/**
+	 * Removes the threads left behind by an interrupted Morris traversal.
+	 * The remaining threads all lie on the path that the traversal would still follow to the
+	 * right, so that path is walked without descending into unvisited left subtrees (they
+	 * contain no threads) and without visiting anything. This costs O(height) predecessor
+	 * searches instead of the rest of the traversal.
+	 * @param current Node the interrupted traversal would have moved to next
+	 */
+	private void unthread(BinaryTreeNode<T> current)
+	{
+		while (current != null)
 		{
-			current = queue.dequeue();
-			list.addToRear(current.getElement());
-				
 			if (current.getLeft() != null)
-				queue.enqueue(current.getLeft());
-				
-			if (current.getRight() != null)
-				queue.enqueue(current.getRight());
+			{
+				BinaryTreeNode<T> predecessor = predecessorOf(current);
+				if (predecessor.getRight() == current)
+					predecessor.setRight(null);
+			}
+			current = current.getRight();
 		}
-		return list.iterator();
+	}
+	
+	
+	/**
+	 * @param node Node with a left child
+	 * @return the rightmost node of the left subtree, stopping at a thread back to the node
+	 */
+	private BinaryTreeNode<T> predecessorOf(BinaryTreeNode<T> node)
+	{
+		BinaryTreeNode<T> predecessor = node.getLeft();
+		while (predecessor.getRight() != null && predecessor.getRight() != node)
+			predecessor = predecessor.getRight();
+		return predecessor;
 	}
 	
 	
@@ -280,5 +534,460 @@ public class BinaryTree<T>
 		
 		return list.toString();
 	}
+	
+	
+	/**
+	 * Appends every remaining element of the iterator to the list.
+	 * @param iterator Specified iterator
+	 * @param list Specified list
+	 */
+	private void drain(Iterator<T> iterator, ArrayUnorderedList<T> list)
+	{
+		while (iterator.hasNext())
+			list.addToRear(iterator.next());
+	}
+	
+	
+	/*
+	 * The iterators below visit nodes on demand. Each keeps an explicit stack (a queue for
+	 * level order) of the nodes still to be expanded, so the first element is returned after
+	 * O(height) work, memory stays O(height) (O(width) for level order), and abandoning an
+	 * iteration early costs nothing. The tree must not be modified while it is iterated.
+	 */
+	
+	
+	/**
+	 * Base of the iterators below: returns the element of each node as many times as the
+	 * node counts it (once, except in a MultisetBinarySearchTree).
+	 */
+	private abstract class NodeIterator implements Iterator<T>
+	{
+		private BinaryTreeNode<T> current;
+		private int copiesLeft;
+		
+		/**
+		 * @return true if there are nodes left to visit
+		 */
+		protected abstract boolean hasMoreNodes();
+		
+		/**
+		 * @return the next node in the traversal order
+		 */
+		protected abstract BinaryTreeNode<T> nextNode();
+		
+		public boolean hasNext()
+		{
+			return copiesLeft > 0 || hasMoreNodes();
+		}
+		
+		public T next()
+		{
+			if (copiesLeft == 0)
+			{
+				if (!hasMoreNodes())
+					throw new NoSuchElementException();
+				current = nextNode();
+				copiesLeft = current.getCount();
+			}
+			copiesLeft--;
+			return current.getElement();
+		}
+	}
+	
+	
+	/**
+	 * Lazy in-order iterator.
+	 * The stack holds the left spine of the subtree still to be visited; the top is next.
+	 */
+	private class InOrderIterator extends NodeIterator
+	{
+		private final ArrayStack<BinaryTreeNode<T>> stack = new ArrayStack<BinaryTreeNode<T>>();
+		
+		InOrderIterator(BinaryTreeNode<T> start)
+		{
+			pushLeftSpine(start);
+		}
+		
+		protected boolean hasMoreNodes()
+		{
+			return !stack.isEmpty();
+		}
+		
+		protected BinaryTreeNode<T> nextNode()
+		{
+			BinaryTreeNode<T> node = stack.pop();
+			pushLeftSpine(node.getRight());
+			return node;
+		}
+		
+		private void pushLeftSpine(BinaryTreeNode<T> node)
+		{
+			while (node != null)
+			{
+				stack.push(node);
+				node = node.getLeft();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Lazy pre-order iterator.
+	 * The stack holds the roots of the subtrees still to be visited; the top is next.
+	 */
+	private class PreOrderIterator extends NodeIterator
+	{
+		private final ArrayStack<BinaryTreeNode<T>> stack = new ArrayStack<BinaryTreeNode<T>>();
+		
+		PreOrderIterator(BinaryTreeNode<T> start)
+		{
+			if (start != null)
+				stack.push(start);
+		}
+		
+		protected boolean hasMoreNodes()
+		{
+			return !stack.isEmpty();
+		}
+		
+		protected BinaryTreeNode<T> nextNode()
+		{
+			BinaryTreeNode<T> node = stack.pop();
+			// push right first so that the left subtree is visited first
+			if (node.getRight() != null)
+				stack.push(node.getRight());
+			if (node.getLeft() != null)
+				stack.push(node.getLeft());
+			return node;
+		}
+	}
+	
+	
+	/**
+	 * Lazy post-order iterator.
+	 * The stack holds the path from the subtree root down to the next node to be visited.
+	 */
+	private class PostOrderIterator extends NodeIterator
+	{
+		private final ArrayStack<BinaryTreeNode<T>> stack = new ArrayStack<BinaryTreeNode<T>>();
+		
+		PostOrderIterator(BinaryTreeNode<T> start)
+		{
+			pushFirstLeaf(start);
+		}
+		
+		protected boolean hasMoreNodes()
+		{
+			return !stack.isEmpty();
+		}
+		
+		protected BinaryTreeNode<T> nextNode()
+		{
+			BinaryTreeNode<T> node = stack.pop();
+			
+			// coming up from a left child: the parent's right subtree comes before the parent
+			if (!stack.isEmpty())
+			{
+				BinaryTreeNode<T> parent = stack.peek();
+				if (parent.getLeft() == node && parent.getRight() != null)
+					pushFirstLeaf(parent.getRight());
+			}
+			return node;
+		}
+		
+		/**
+		 * Pushes the path down to the first node of the subtree in post-order, preferring
+		 * left children and taking a right child only where there is no left one.
+		 */
+		private void pushFirstLeaf(BinaryTreeNode<T> node)
+		{
+			while (node != null)
+			{
+				stack.push(node);
+				node = (node.getLeft() != null) ? node.getLeft() : node.getRight();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Lazy level-order iterator.
+	 * The queue holds the nodes of the current and the next level still to be visited.
+	 */
+	private class LevelOrderIterator extends NodeIterator
+	{
+		private final LinkedQueue<BinaryTreeNode<T>> queue = new LinkedQueue<BinaryTreeNode<T>>();
+		
+		LevelOrderIterator(BinaryTreeNode<T> start)
+		{
+			if (start != null)
+				queue.enqueue(start);
+		}
+		
+		protected boolean hasMoreNodes()
+		{
+			return !queue.isEmpty();
+		}
+		
+		protected BinaryTreeNode<T> nextNode()
+		{
+			BinaryTreeNode<T> current = queue.dequeue();
+			
+			if (current.getLeft() != null)
+				queue.enqueue(current.getLeft());
+			
+			if (current.getRight() != null)
+				queue.enqueue(current.getRight());
+			
+			return current;
+		}
+	}
+
+	
+	/**
+	 * Visitor used by reduceInOrder(); accumulates into a primitive long.
+	 */
+	private static final class LongReducer<T> implements Predicate<T>
+	{
+		private final ToLongFunction<? super T> mapper;
+		private final LongBinaryOperator op;
+		private long result;
+		
+		LongReducer(long identity, ToLongFunction<? super T> mapper, LongBinaryOperator op)
+		{
+			this.result = identity;
+			this.mapper = mapper;
+			this.op = op;
+		}
+		
+		public boolean test(T element)
+		{
+			result = op.applyAsLong(result, mapper.applyAsLong(element));
+			return true;
+		}
+	}
+	
+	
+	/**
+	 * Fork/join search for parallelContains().
+	 * A task walks down its subtree while it may still split. At each node with two
+	 * children it forks a task for the right child, which may split once less, and goes on
+	 * with the left child; at a node with one child it just goes on. The walk is a loop
+	 * and the splits are counted, so neither the call stack nor the chain of joins grows
+	 * deeper than the split depth, even for degenerate trees. The subtree where the walk
+	 * ends is searched with an explicit stack. The shared flag is checked before every
+	 * node, so a match anywhere ends all tasks quickly.
+	 */
+	private static final class ContainsTask<T> extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final transient BinaryTreeNode<T> start;
+		private final transient T target;
+		private final AtomicBoolean found;
+		private final int splits;
+		/**
+		 * Next task forked by the same parent (forked tasks form a list to be joined).
+		 */
+		private ContainsTask<T> nextForked;
+		
+		ContainsTask(BinaryTreeNode<T> start, T target, AtomicBoolean found, int splits)
+		{
+			this.start = start;
+			this.target = target;
+			this.found = found;
+			this.splits = splits;
+		}
+		
+		protected void compute()
+		{
+			ArrayStack<BinaryTreeNode<T>> stack = new ArrayStack<BinaryTreeNode<T>>();
+			ContainsTask<T> forked = null;
+			BinaryTreeNode<T> node = start;
+			int s = splits;
+			
+			// 1. Split: fork the right child of every node with two children.
+			while (node != null && s > 0 && !found.get())
+			{
+				if (node.getElement().equals(target))
+				{
+					found.set(true);
+					break;
+				}
+				
+				if (node.getLeft() != null && node.getRight() != null)
+				{
+					ContainsTask<T> task = new ContainsTask<T>(node.getRight(), target, found, --s);
+					task.nextForked = forked;
+					forked = task;
+					task.fork();
+					node = node.getLeft();
+				}
+				else
+					node = (node.getLeft() != null) ? node.getLeft() : node.getRight();
+			}
+			if (node != null)
+				stack.push(node);
+			
+			// 2. Search the rest of the subtree sequentially.
+			while (!stack.isEmpty() && !found.get())
+			{
+				BinaryTreeNode<T> current = stack.pop();
+				if (current.getElement().equals(target))
+				{
+					found.set(true);
+					break;
+				}
+				if (current.getRight() != null)
+					stack.push(current.getRight());
+				if (current.getLeft() != null)
+					stack.push(current.getLeft());
+			}
+			
+			// 3. Forked tasks that have not started yet return at once if found is set.
+			for (ContainsTask<T> task = forked; task != null; task = task.nextForked)
+				task.join();
+		}
+	}
+	
+	
+	/**
+	 * Fork/join height computation for parallelHeight().
+	 * The result of a task is the greatest depth of a node in its subtree, where the depth
+	 * of the subtree root is given. Splitting works as in ContainsTask.
+	 */
+	private static final class HeightTask<T> extends RecursiveTask<Integer>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final transient BinaryTreeNode<T> start;
+		private final int depth;
+		private final int splits;
+		private HeightTask<T> nextForked;
+		
+		HeightTask(BinaryTreeNode<T> start, int depth, int splits)
+		{
+			this.start = start;
+			this.depth = depth;
+			this.splits = splits;
+		}
+		
+		protected Integer compute()
+		{
+			ArrayStack<BinaryTreeNode<T>> nodes = new ArrayStack<BinaryTreeNode<T>>();
+			IntArrayStack depths = new IntArrayStack();
+			HeightTask<T> forked = null;
+			BinaryTreeNode<T> node = start;
+			int d = depth;
+			int s = splits;
+			int deepest = d;
+			
+			// 1. Split: fork the right child of every node with two children.
+			while (s > 0 && (node.getLeft() != null || node.getRight() != null))
+			{
+				if (node.getLeft() != null && node.getRight() != null)
+				{
+					HeightTask<T> task = new HeightTask<T>(node.getRight(), d + 1, --s);
+					task.nextForked = forked;
+					forked = task;
+					task.fork();
+					node = node.getLeft();
+				}
+				else
+					node = (node.getLeft() != null) ? node.getLeft() : node.getRight();
+				d++;
+			}
+			nodes.push(node);
+			depths.push(d);
+			
+			// 2. Measure the rest of the subtree sequentially.
+			while (!nodes.isEmpty())
+			{
+				BinaryTreeNode<T> current = nodes.pop();
+				int currentDepth = depths.pop();
+				deepest = Math.max(deepest, currentDepth);
+				
+				if (current.getLeft() != null)
+				{
+					nodes.push(current.getLeft());
+					depths.push(currentDepth + 1);
+				}
+				if (current.getRight() != null)
+				{
+					nodes.push(current.getRight());
+					depths.push(currentDepth + 1);
+				}
+			}
+			
+			// 3. Combine with the forked tasks.
+			for (HeightTask<T> task = forked; task != null; task = task.nextForked)
+				deepest = Math.max(deepest, task.join());
+			return deepest;
+		}
+	}
+	
+	
+	/**
+	 * Fork/join node count for parallelNumberOfNodes().
+	 * The result of a task is the number of nodes in its subtree. Splitting works as in
+	 * ContainsTask.
+	 */
+	private static final class CountTask<T> extends RecursiveTask<Integer>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final transient BinaryTreeNode<T> start;
+		private final int splits;
+		private CountTask<T> nextForked;
+		
+		CountTask(BinaryTreeNode<T> start, int splits)
+		{
+			this.start = start;
+			this.splits = splits;
+		}
+		
+		protected Integer compute()
+		{
+			ArrayStack<BinaryTreeNode<T>> stack = new ArrayStack<BinaryTreeNode<T>>();
+			CountTask<T> forked = null;
+			BinaryTreeNode<T> node = start;
+			int s = splits;
+			int count = 0;
+			
+			// 1. Split: fork the right child of every node with two children.
+			while (s > 0 && (node.getLeft() != null || node.getRight() != null))
+			{
+				count++;
+				if (node.getLeft() != null && node.getRight() != null)
+				{
+					CountTask<T> task = new CountTask<T>(node.getRight(), --s);
+					task.nextForked = forked;
+					forked = task;
+					task.fork();
+					node = node.getLeft();
+				}
+				else
+					node = (node.getLeft() != null) ? node.getLeft() : node.getRight();
+			}
+			stack.push(node);
+			
+			// 2. Count the rest of the subtree sequentially.
+			while (!stack.isEmpty())
+			{
+				BinaryTreeNode<T> current = stack.pop();
+				count++;
+				
+				if (current.getLeft() != null)
+					stack.push(current.getLeft());
+				if (current.getRight() != null)
+					stack.push(current.getRight());
+			}
+			
+			// 3. Combine with the forked tasks.
+			for (CountTask<T> task = forked; task != null; task = task.nextForked)
+				count += task.join();
+			return count;
+		}
+	}
 
 }
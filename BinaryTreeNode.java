@@ -17,6 +17,12 @@ public class BinaryTreeNode<T>
 	 * Reference to the right child of this node
 	 */
 	private BinaryTreeNode<T> right;
+	/**
+	 * Number of elements in the subtree rooted at this node (this node included); equal to
+	 * the number of nodes unless nodes count repeated elements (CountedBinaryTreeNode).
+	 * Kept up to date by BinarySearchTree and its subclasses only (see getSize())
+	 */
+	private int size;
 	
 	
 	/**
@@ -29,6 +35,7 @@ public class BinaryTreeNode<T>
 		this.element = element;
 		this.left = null;
 		this.right = null;
+		this.size = 1;
 	}
 	
 	
@@ -49,6 +56,15 @@ public class BinaryTreeNode<T>
 	}
 	
 	
+	/**
+	 * @return number of occurrences of the element this node stands for (always 1 here)
+	 */
+	public int getCount()
+	{
+		return 1;
+	}
+	
+	
 	/**
 	 * @return the element of this node
 	 */
@@ -93,6 +109,7 @@ public class BinaryTreeNode<T>
 	public void setLeft(BinaryTreeNode<T> node) 
 	{
 		this.left = node;
+		updateSize();
 	}
 	
 	
@@ -103,6 +120,51 @@ public class BinaryTreeNode<T>
 	public void setRight(BinaryTreeNode<T> node) 
 	{
 		this.right = node;
+		updateSize();
+	}
+	
+	
+	/**
+	 * Stored size of the subtree, O(1). setLeft() and setRight() recompute it for this node
+	 * only, so it is exact when a tree is linked bottom-up or maintained by BinarySearchTree
+	 * (whose insertions and removals update every node on the path); nodes relinked by hand
+	 * below this one leave it stale. Hence package-private, for BinarySearchTree and the
+	 * classes built on it.
+	 * @return number of elements in the subtree rooted at this node (this node included)
+	 */
+	int getSize()
+	{
+		return this.size;
+	}
+	
+	
+	/**
+	 * Adds the specified amount to the stored subtree size.
+	 * Used by trees that insert or unlink a node below this one without relinking this node.
+	 * @param delta Change in the number of elements in this subtree
+	 */
+	void adjustSize(int delta)
+	{
+		this.size += delta;
+	}
+	
+	
+	/**
+	 * Recomputes the subtree size of this node from the sizes of its children.
+	 */
+	private void updateSize()
+	{
+		this.size = getCount() + size(this.left) + size(this.right);
+	}
+	
+	
+	/**
+	 * @param node Specified node (may be null)
+	 * @return number of elements in the subtree rooted at the specified node; 0 for null
+	 */
+	static int size(BinaryTreeNode<?> node)
+	{
+		return node == null ? 0 : node.size;
 	}
 
 }
@@ -0,0 +1,181 @@
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import Helpers.ArrayStack;			// Array Stack Data Structure
+/**
+ * In-order Spliterator over a binary tree that splits at subtree boundaries.
+ * The elements still to be traversed are described by
+ * 		head		a single node that comes first (may be null)
+ * 		subtree		a whole subtree that follows it in in-order (may be null)
+ * so (head, subtree = s) splits in O(1) into the prefix (head, s.left) and the remaining
+ * (s, s.right). Over a BinarySearchTree every node stores the exact size of its subtree,
+ * so sizes are exact, hence SIZED and SUBSIZED. Over other trees the stored sizes may be
+ * stale (see BinaryTreeNode.getSize()), so only an estimate is reported, halved at every
+ * split. Once the traversal has entered the subtree it continues with an explicit stack
+ * and no longer splits. The tree must not be modified while it is traversed.
+ * @author Tsuki
+ *
+ */
+public class BinaryTreeSpliterator<T> implements Spliterator<T>
+{
+	private BinaryTreeNode<T> head;
+	/**
+	 * Occurrences of the head element not yet traversed (counted nodes repeat their element).
+	 */
+	private int headCopies;
+	private BinaryTreeNode<T> subtree;
+	/**
+	 * Node being returned by the stack traversal and how many more times.
+	 */
+	private BinaryTreeNode<T> current;
+	private int copiesLeft;
+	/**
+	 * In-order stack once the traversal has entered the subtree; null before.
+	 */
+	private ArrayStack<BinaryTreeNode<T>> stack;
+	/**
+	 * Number of elements not yet traversed (exact if SIZED, an estimate otherwise).
+	 */
+	private long remaining;
+	private final int characteristics;
+
+
+	/**
+	 * Constructor(1) used to create a SIZED spliterator over a whole (sub)tree whose nodes
+	 * store exact subtree sizes (BinarySearchTree and its subclasses).
+	 * @param root Root of the tree (may be null)
+	 * @param sorted true if the in-order sequence is sorted in natural order (BinarySearchTree)
+	 */
+	public BinaryTreeSpliterator(BinaryTreeNode<T> root, boolean sorted)
+	{
+		this(null, 0, root, BinaryTreeNode.size(root), ORDERED | SIZED | SUBSIZED | (sorted ? SORTED : 0));
+	}
+
+
+	/**
+	 * Constructor(2) used to create a spliterator over a whole (sub)tree whose stored sizes
+	 * are not trusted; it reports an estimate instead of SIZED.
+	 * @param root Root of the tree (may be null)
+	 * @param estimatedSize Estimated number of elements
+	 */
+	public BinaryTreeSpliterator(BinaryTreeNode<T> root, long estimatedSize)
+	{
+		this(null, 0, root, estimatedSize, ORDERED);
+	}
+
+
+	private BinaryTreeSpliterator(BinaryTreeNode<T> head, int headCopies, BinaryTreeNode<T> subtree, long remaining,
+			int characteristics)
+	{
+		this.head = head;
+		this.headCopies = headCopies;
+		this.subtree = subtree;
+		this.remaining = remaining;
+		this.characteristics = characteristics;
+	}
+
+
+	/**
+	 * Splits off the prefix (head, s.left) of (head, s); this spliterator keeps (s, s.right).
+	 * @return the prefix; null if this spliterator has started its stack or holds one element
+	 */
+	public Spliterator<T> trySplit()
+	{
+		if (stack != null || subtree == null)
+			return null;
+
+		BinaryTreeNode<T> s = subtree;
+		if (head == null && s.getLeft() == null)
+		{
+			// nothing precedes s: (null, s) is the same sequence as (s, s.right)
+			head = s;
+			headCopies = s.getCount();
+			subtree = s.getRight();
+			return trySplit();
+		}
+
+		long prefixSize = (characteristics & SIZED) != 0
+				? headCopies + BinaryTreeNode.size(s.getLeft())
+				: remaining >>> 1;
+		BinaryTreeSpliterator<T> prefix = new BinaryTreeSpliterator<T>(head, headCopies, s.getLeft(), prefixSize,
+				characteristics);
+		head = s;
+		headCopies = s.getCount();
+		subtree = s.getRight();
+		remaining -= prefix.remaining;
+		return prefix;
+	}
+
+
+	public boolean tryAdvance(Consumer<? super T> action)
+	{
+		if (head != null)
+		{
+			BinaryTreeNode<T> node = head;
+			if (--headCopies == 0)
+				head = null;
+			if (remaining > 0)
+				remaining--;
+			action.accept(node.getElement());
+			return true;
+		}
+
+		// enter the subtree: from here on, a plain in-order stack traversal
+		if (stack == null)
+		{
+			if (subtree == null)
+				return false;
+			stack = new ArrayStack<BinaryTreeNode<T>>();
+			pushLeftSpine(subtree);
+			subtree = null;
+		}
+		if (copiesLeft == 0)
+		{
+			if (stack.isEmpty())
+				return false;
+			current = stack.pop();
+			copiesLeft = current.getCount();
+			pushLeftSpine(current.getRight());
+		}
+		copiesLeft--;
+		if (remaining > 0)
+			remaining--;
+		action.accept(current.getElement());
+		return true;
+	}
+
+
+	public long estimateSize()
+	{
+		return remaining;
+	}
+
+
+	public int characteristics()
+	{
+		return characteristics;
+	}
+
+
+	/**
+	 * @return null: a sorted tree is sorted in natural order
+	 * @throws IllegalStateException if the spliterator is not SORTED
+	 */
+	public Comparator<? super T> getComparator()
+	{
+		if ((characteristics & SORTED) == 0)
+			throw new IllegalStateException();
+		return null;
+	}
+
+
+	private void pushLeftSpine(BinaryTreeNode<T> node)
+	{
+		while (node != null)
+		{
+			stack.push(node);
+			node = node.getLeft();
+		}
+	}
+
+}
@@ -0,0 +1,463 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import Helpers.ElementNotFoundException;	// RuntimeException Class
+import Helpers.ArrayStack;			// Array Stack Data Structure
+/**
+ * Lock-free concurrent BinarySearchTree (Natarajan-Mittal external tree).
+ * Elements are kept in the leaves; internal nodes only route searches, so that removing
+ * an element never has to move a node with two children. Every child link is an
+ * immutable Edge object replaced with compare-and-set:
+ * 		flag	the leaf below this edge is being removed
+ * 		tag		this edge will not change any more (its parent is being spliced out)
+ * An insertion replaces a leaf by a new internal node over the old and the new leaf with
+ * one CAS. A removal first flags the edge to its leaf (this is when the element is gone),
+ * then tags the sibling edge and swings the edge above the parent to the sibling; any
+ * thread that runs into a flagged or tagged edge finishes that removal first.
+ * find(), contains() and the iterators take no locks and write nothing. Elements are
+ * unique (set semantics) and must not be null.
+ * @author Tsuki
+ *
+ */
+public class ConcurrentBinarySearchTree<T>
+{
+	/**
+	 * Sentinel keys: every element < INF0 < INF1 < INF2. Elements themselves have rank 0.
+	 */
+	private static final int INF0 = 1, INF1 = 2, INF2 = 3;
+	/**
+	 * Root sentinel (INF2); its left child is the sentinel S (INF1).
+	 */
+	private final Node<T> root;
+	/**
+	 * Sentinel S; every element lives in the left subtree of its left child.
+	 */
+	private final Node<T> sentinel;
+	/**
+	 * Number of elements, counted at the linearization points of add and remove.
+	 */
+	private final LongAdder count = new LongAdder();
+
+
+	/**
+	 * Constructor used to create an empty concurrent BST.
+	 * It starts with the sentinel nodes only: R(INF2) -> { S(INF1) -> { INF0, INF1 }, INF2 }.
+	 */
+	public ConcurrentBinarySearchTree()
+	{
+		sentinel = new Node<T>(null, INF1, new Node<T>(null, INF0), new Node<T>(null, INF1));
+		root = new Node<T>(null, INF2, sentinel, new Node<T>(null, INF2));
+	}
+
+
+	/**
+	 * Inserts the specified element unless an equal element is already in this tree.
+	 * @param element Specified element
+	 * @return true if the element was added; false if it was already present
+	 */
+	public boolean addElement(T element)
+	{
+		SeekRecord<T> record = new SeekRecord<T>();
+		Node<T> newLeaf = new Node<T>(element, 0);
+
+		while (true)
+		{
+			seek(element, record);
+			Node<T> leaf = record.leaf;
+			Node<T> parent = record.parent;
+
+			int cmp = compare(element, leaf);
+			if (cmp == 0)
+				return false;
+
+			// the new internal node carries the greater key; the lesser leaf goes to its left
+			Node<T> internal = cmp < 0 ? new Node<T>(leaf.key, leaf.rank, newLeaf, leaf)
+									   : new Node<T>(element, 0, leaf, newLeaf);
+
+			boolean left = compare(element, parent) < 0;
+			Edge<T> edge = parent.edge(left);
+			if (edge.node == leaf && edge.isClean()
+					&& parent.compareAndSet(left, edge, new Edge<T>(internal, false, false)))
+			{
+				count.increment();
+				return true;
+			}
+
+			// the CAS failed; if a removal is pending at this spot, finish it before retrying
+			edge = parent.edge(left);
+			if (edge.node == leaf && !edge.isClean())
+				cleanup(element, record);
+		}
+	}
+
+
+	/**
+	 * Removes the element equal to the specified one.
+	 * @param targetElement Specified element
+	 * @return true if an element was removed; false if no equal element was present
+	 */
+	public boolean removeElement(T targetElement)
+	{
+		SeekRecord<T> record = new SeekRecord<T>();
+		Node<T> leaf = null;
+		boolean injected = false;
+
+		while (true)
+		{
+			seek(targetElement, record);
+			Node<T> parent = record.parent;
+			boolean left = compare(targetElement, parent) < 0;
+
+			if (!injected)
+			{
+				// 1. Injection: flag the edge to the leaf. Once this CAS succeeds the element
+				//    is logically removed and no other thread can remove it again.
+				leaf = record.leaf;
+				if (compare(targetElement, leaf) != 0)
+					return false;
+
+				Edge<T> edge = parent.edge(left);
+				if (edge.node == leaf && edge.isClean()
+						&& parent.compareAndSet(left, edge, new Edge<T>(leaf, true, false)))
+				{
+					injected = true;
+					count.decrement();
+					if (cleanup(targetElement, record))
+						return true;
+				}
+				else
+				{
+					edge = parent.edge(left);
+					if (edge.node == leaf && !edge.isClean())
+						cleanup(targetElement, record);
+				}
+			}
+			else
+			{
+				// 2. Cleanup: done as soon as the leaf is unreachable, possibly by a helper
+				if (record.leaf != leaf)
+					return true;
+				if (cleanup(targetElement, record))
+					return true;
+			}
+		}
+	}
+
+
+	/**
+	 * Lock-free lookup.
+	 * @param targetElement Specified element
+	 * @return a reference to the element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T find(T targetElement) throws ElementNotFoundException
+	{
+		Node<T> leaf = findLeaf(targetElement);
+		if (compare(targetElement, leaf) != 0)
+			throw new ElementNotFoundException("Concurrent Binary Search Tree");
+		return leaf.key;
+	}
+
+
+	/**
+	 * Lock-free membership test.
+	 * @param targetElement Specified element
+	 * @return true if this tree contains an element equal to the specified one
+	 */
+	public boolean contains(T targetElement)
+	{
+		return compare(targetElement, findLeaf(targetElement)) == 0;
+	}
+
+
+	/**
+	 * @return number of elements (exact when no update is in progress)
+	 */
+	public int size()
+	{
+		return (int) count.sum();
+	}
+
+
+	/**
+	 * @return true if this tree has no elements (exact when no update is in progress)
+	 */
+	public boolean isEmpty()
+	{
+		return count.sum() == 0;
+	}
+
+
+	/**
+	 * Weakly consistent in-order iterator: it never throws ConcurrentModificationException,
+	 * returns every element that is present for the whole iteration exactly once, and may or
+	 * may not return elements that are added or removed meanwhile.
+	 * @return a lazy in-order iterator over this tree
+	 */
+	public Iterator<T> iteratorInOrder()
+	{
+		return new TreeIterator();
+	}
+
+
+	/**
+	 * Helper method for find() and contains(): plain descent to a leaf, no writes.
+	 * @param key Specified element
+	 * @return the leaf where the element is or would be
+	 */
+	private Node<T> findLeaf(T key)
+	{
+		Node<T> node = root;
+		while (!node.isLeaf())
+			node = compare(key, node) < 0 ? node.left.node : node.right.node;
+		return node;
+	}
+
+
+	/**
+	 * Descends to the leaf for the specified key and records the last four nodes of interest:
+	 * 		leaf		the leaf reached
+	 * 		parent		its parent
+	 * 		successor	the top of the chain of tagged edges ending at the parent
+	 * 		ancestor	the parent of the successor (the edge between them is untagged)
+	 * A removal swings ancestor's edge from successor to the surviving sibling, which
+	 * also unlinks every node that an interrupted removal left behind on that chain.
+	 * @param key Specified element
+	 * @param record Record receiving the result
+	 */
+	private void seek(T key, SeekRecord<T> record)
+	{
+		record.ancestor = root;
+		record.successor = sentinel;
+		record.parent = sentinel;
+
+		Edge<T> parentField = sentinel.left;
+		record.leaf = parentField.node;
+
+		// every element is less than INF0, so the first step below S.left always goes left
+		Edge<T> currentField = record.leaf.left;
+		Node<T> current = currentField == null ? null : currentField.node;
+
+		while (current != null)
+		{
+			if (!parentField.tag)
+			{
+				record.ancestor = record.parent;
+				record.successor = record.leaf;
+			}
+			record.parent = record.leaf;
+			record.leaf = current;
+
+			parentField = currentField;
+			currentField = compare(key, current) < 0 ? current.left : current.right;
+			current = currentField == null ? null : currentField.node;
+		}
+	}
+
+
+	/**
+	 * Physically removes a flagged leaf together with its parent.
+	 * @param key Key that led to the seek record (the flagged leaf or its sibling)
+	 * @param record Result of the last seek()
+	 * @return true if this thread's CAS unlinked the parent
+	 */
+	private boolean cleanup(T key, SeekRecord<T> record)
+	{
+		Node<T> ancestor = record.ancestor;
+		Node<T> successor = record.successor;
+		Node<T> parent = record.parent;
+
+		boolean successorLeft = compare(key, ancestor) < 0;
+		boolean childLeft = compare(key, parent) < 0;
+
+		// keep the sibling of the flagged leaf; if the edge to our key is not the flagged one,
+		// the sibling is being removed and our side survives
+		boolean keepLeft = !childLeft;
+		if (!parent.edge(childLeft).flag)
+			keepLeft = childLeft;
+
+		// 1. Tag the surviving edge so that nothing can be inserted below the dying parent.
+		Edge<T> keep;
+		while (true)
+		{
+			keep = parent.edge(keepLeft);
+			if (keep.tag)
+				break;
+			Edge<T> tagged = new Edge<T>(keep.node, keep.flag, true);
+			if (parent.compareAndSet(keepLeft, keep, tagged))
+			{
+				keep = tagged;
+				break;
+			}
+		}
+
+		// 2. Swing the ancestor's edge past the parent (and any tagged chain above it).
+		//    A flag on the surviving edge moves along, so a pending removal there continues.
+		Edge<T> expected = ancestor.edge(successorLeft);
+		if (expected.node != successor || !expected.isClean())
+			return false;
+		return ancestor.compareAndSet(successorLeft, expected, new Edge<T>(keep.node, keep.flag, false));
+	}
+
+
+	/**
+	 * @param key Specified element (not a sentinel)
+	 * @param node Node to compare against
+	 * @return negative, zero or positive as key is less than, equal to or greater than the node's key
+	 */
+	private int compare(T key, Node<T> node)
+	{
+		if (node.rank != 0)
+			return -1;	// sentinels are greater than every element
+		return ((Comparable<T>) key).compareTo(node.key);
+	}
+
+
+	/**
+	 * Node of the external tree; leaves have no edges.
+	 */
+	private static final class Node<T>
+	{
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Node, Edge> LEFT =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Edge.class, "left");
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Node, Edge> RIGHT =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Edge.class, "right");
+
+		final T key;
+		final int rank;
+		volatile Edge<T> left;
+		volatile Edge<T> right;
+
+		/**
+		 * Leaf
+		 */
+		Node(T key, int rank)
+		{
+			this.key = key;
+			this.rank = rank;
+		}
+
+		/**
+		 * Internal node
+		 */
+		Node(T key, int rank, Node<T> left, Node<T> right)
+		{
+			this.key = key;
+			this.rank = rank;
+			this.left = new Edge<T>(left, false, false);
+			this.right = new Edge<T>(right, false, false);
+		}
+
+		boolean isLeaf()
+		{
+			return left == null;
+		}
+
+		Edge<T> edge(boolean isLeft)
+		{
+			return isLeft ? left : right;
+		}
+
+		boolean compareAndSet(boolean isLeft, Edge<T> expect, Edge<T> update)
+		{
+			return (isLeft ? LEFT : RIGHT).compareAndSet(this, expect, update);
+		}
+	}
+
+
+	/**
+	 * Immutable child link with the two marker bits of the algorithm.
+	 */
+	private static final class Edge<T>
+	{
+		final Node<T> node;
+		final boolean flag;
+		final boolean tag;
+
+		Edge(Node<T> node, boolean flag, boolean tag)
+		{
+			this.node = node;
+			this.flag = flag;
+			this.tag = tag;
+		}
+
+		boolean isClean()
+		{
+			return !flag && !tag;
+		}
+	}
+
+
+	/**
+	 * Result of seek().
+	 */
+	private static final class SeekRecord<T>
+	{
+		Node<T> ancestor;
+		Node<T> successor;
+		Node<T> parent;
+		Node<T> leaf;
+	}
+
+
+	/**
+	 * Lazy weakly consistent in-order iterator.
+	 * The stack holds the subtrees still to be visited (left child on top); leaves holding
+	 * elements are returned, sentinel leaves are skipped.
+	 */
+	private class TreeIterator implements Iterator<T>
+	{
+		private final ArrayStack<Node<T>> stack = new ArrayStack<Node<T>>();
+		private Node<T> next;
+
+		TreeIterator()
+		{
+			stack.push(root);
+			advance();
+		}
+
+		public boolean hasNext()
+		{
+			return next != null;
+		}
+
+		public T next()
+		{
+			if (next == null)
+				throw new NoSuchElementException();
+
+			T result = next.key;
+			advance();
+			return result;
+		}
+
+		private void advance()
+		{
+			next = null;
+			while (!stack.isEmpty())
+			{
+				Node<T> node = stack.pop();
+				if (node.isLeaf())
+				{
+					if (node.rank == 0)
+					{
+						next = node;
+						return;
+					}
+				}
+				else
+				{
+					// read each edge once; the subtree seen is the one at this moment
+					Node<T> right = node.right.node;
+					Node<T> left = node.left.node;
+					stack.push(right);
+					stack.push(left);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Node structure for a multiset binary search tree.
+ * This class inherits BinaryTreeNode<T> class and additionally stores how many times its
+ * element occurs, so that equal elements share one node. The stored subtree size counts
+ * every occurrence.
+ * @author Tsuki
+ *
+ */
+public class CountedBinaryTreeNode<T> extends BinaryTreeNode<T>
+{
+	/**
+	 * Number of occurrences of the element (at least 1).
+	 */
+	private int count;
+	
+	
+	/**
+	 * Constructor used to create a leaf node holding one occurrence of the element.
+	 * @param element Specified element
+	 */
+	public CountedBinaryTreeNode(T element)
+	{
+		super(element);
+		this.count = 1;
+	}
+	
+	
+	/**
+	 * @return number of occurrences of the element of this node
+	 */
+	public int getCount()
+	{
+		return this.count;
+	}
+	
+	
+	/**
+	 * Assigns a new number of occurrences and updates the subtree size of this node.
+	 * The sizes of the ancestors are left to the tree.
+	 * @param count Specified number of occurrences (at least 1)
+	 */
+	void setCount(int count)
+	{
+		adjustSize(count - this.count);
+		this.count = count;
+	}
+	
+}
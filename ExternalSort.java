@@ -0,0 +1,472 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+/**
+ *
+ * External Merge Sort Algorithm in Java
+ * Sorts a binary file of 32-bit ints that is larger than the heap.
+ *
+ * ------------------------------------
+ * [ Run Formation Phase ]
+ *
+ * chunk = int array of heapBudget / 4 items
+ * while input has data do {
+ *   fill chunk from input              (FileChannel + direct ByteBuffer)
+ *   QuickSort.Sort_Recursively(chunk)
+ *   write chunk to a new temp run file
+ * }
+ *
+ * [ Merge Phase ]
+ *
+ * while there are more than fanIn runs do
+ *   merge every group of fanIn runs into one longer run
+ * merge the remaining runs into the output file
+ *
+ * Each k-way merge keeps one direct buffer per run and picks the next smallest item
+ * with a loser tree: every output item costs log2(k) comparisons, replaying only the
+ * path from the winner's leaf to the root.
+ *
+ * ------------------------------------
+ *
+ * Order of Time Complexity:
+ *
+ * Always:	O(n log2(n))	comparisons
+ * I/O:		O(n * (1 + log_fanIn(runs)))	bytes read and written
+ *
+ */
+public class ExternalSort {
+
+	/**
+	 * Default heap budget for the run formation chunk (64 MiB).
+	 */
+	public static final long DEFAULT_HEAP_BUDGET = 64L << 20;
+	/**
+	 * Default number of runs merged at once.
+	 */
+	public static final int DEFAULT_FAN_IN = 64;
+	/**
+	 * Size of the direct buffer used by each input or output stream.
+	 */
+	private static final int IO_BUFFER_BYTES = 1 << 16;
+
+	/**
+	 * Bytes of heap the in-memory chunk may use.
+	 */
+	private final long heapBudget;
+	/**
+	 * Maximum number of runs merged in one k-way merge.
+	 */
+	private final int fanIn;
+	/**
+	 * Directory holding the temporary run files.
+	 */
+	private final Path tempDirectory;
+	/**
+	 * Byte order of the ints in the input, output and run files.
+	 */
+	private final ByteOrder order;
+
+	/**
+	 * Statistics of the last sort() call.
+	 */
+	private long runPhaseBytesRead;
+	private long runPhaseBytesWritten;
+	private long mergePhaseBytesRead;
+	private long mergePhaseBytesWritten;
+	private int runCount;
+	private int mergePasses;
+
+	/**
+	 * Constructor(1) used to create a sorter with the default heap budget, fan-in,
+	 * temp directory (java.io.tmpdir) and big-endian ints.
+	 */
+	public ExternalSort() {
+		this(DEFAULT_HEAP_BUDGET, DEFAULT_FAN_IN, Paths.get(System.getProperty("java.io.tmpdir")), ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Constructor(2) used to create a sorter with the specified settings.
+	 * @param heapBudget Bytes of heap the in-memory chunk may use
+	 * @param fanIn Maximum number of runs merged at once
+	 * @param tempDirectory Directory for the temporary run files
+	 * @param order Byte order of the ints in the files
+	 * @throws IllegalArgumentException if heapBudget is smaller than one int or fanIn is less than 2
+	 */
+	public ExternalSort(long heapBudget, int fanIn, Path tempDirectory, ByteOrder order) {
+		if (heapBudget < Integer.BYTES)
+			throw new IllegalArgumentException("heap budget too small: " + heapBudget);
+		if (fanIn < 2)
+			throw new IllegalArgumentException("fan-in must be at least 2: " + fanIn);
+
+		this.heapBudget = heapBudget;
+		this.fanIn = fanIn;
+		this.tempDirectory = tempDirectory;
+		this.order = order;
+	}
+
+	/**
+	 * Sorts the ints of the input file in increasing order into the output file.
+	 * @param input File of ints (its length must be a multiple of 4)
+	 * @param output File receiving the sorted ints (created or truncated)
+	 * @throws IOException if a file cannot be read or written, or the input length is not a multiple of 4
+	 */
+	public void sort(Path input, Path output) throws IOException {
+		runPhaseBytesRead = runPhaseBytesWritten = 0;
+		mergePhaseBytesRead = mergePhaseBytesWritten = 0;
+		runCount = mergePasses = 0;
+
+		List<Path> runs = new ArrayList<Path>();
+		// runs of the pass in progress; deleted with runs if a merge fails
+		List<Path> merged = new ArrayList<Path>();
+		try {
+			createRuns(input, output, runs);
+
+			while (runs.size() > fanIn) {
+				merged = new ArrayList<Path>();
+				for (int i = 0; i < runs.size(); i += fanIn) {
+					List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+					if (group.size() == 1) {
+						merged.add(group.get(0));
+						continue;
+					}
+					Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+					merged.add(run);
+					merge(group, run);
+					for (Path p : group)
+						Files.deleteIfExists(p);
+				}
+				runs = merged;
+				mergePasses++;
+			}
+
+			if (!runs.isEmpty()) {
+				merge(runs, output);
+				mergePasses++;
+			}
+		}
+		finally {
+			for (Path p : runs)
+				Files.deleteIfExists(p);
+			for (Path p : merged)
+				Files.deleteIfExists(p);
+		}
+	}
+
+	/**
+	 * Run formation phase. If the whole input fits into one chunk it is written straight
+	 * to the output and no run files are created.
+	 * @param input Input file
+	 * @param output Output file
+	 * @param runs List receiving the run files
+	 */
+	private void createRuns(Path input, Path output, List<Path> runs) throws IOException {
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+			long size = in.size();
+			if (size % Integer.BYTES != 0)
+				throw new IOException("input length " + size + " is not a multiple of " + Integer.BYTES);
+
+			long totalItems = size / Integer.BYTES;
+			long budgetItems = Math.min(heapBudget / Integer.BYTES, Integer.MAX_VALUE - 8);
+			int[] chunk = new int[(int) Math.min(totalItems, budgetItems)];
+			ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(order);
+
+			if (totalItems <= chunk.length) {
+				int n = readInts(in, buffer, chunk);
+				QuickSort.Sort_Recursively(chunk, n);
+				writeInts(output, chunk, n, buffer);
+				runPhaseBytesRead += (long) n * Integer.BYTES;
+				runPhaseBytesWritten += (long) n * Integer.BYTES;
+				runCount = n > 0 ? 1 : 0;
+				return;
+			}
+
+			int n;
+			while ((n = readInts(in, buffer, chunk)) > 0) {
+				QuickSort.Sort_Recursively(chunk, n);
+
+				Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+				runs.add(run);
+				writeInts(run, chunk, n, buffer);
+
+				runPhaseBytesRead += (long) n * Integer.BYTES;
+				runPhaseBytesWritten += (long) n * Integer.BYTES;
+				runCount++;
+			}
+		}
+	}
+
+	/**
+	 * Fills the chunk from the channel through the direct buffer.
+	 * @return number of ints read (less than chunk.length only at the end of the input)
+	 */
+	private static int readInts(FileChannel in, ByteBuffer buffer, int[] chunk) throws IOException {
+		int n = 0;
+		buffer.clear();
+
+		while (n < chunk.length) {
+			int limit = (int) Math.min((long) (chunk.length - n) * Integer.BYTES, buffer.capacity());
+			buffer.limit(limit);
+			while (buffer.hasRemaining() && in.read(buffer) >= 0)
+				;
+			buffer.flip();
+
+			int count = buffer.remaining() / Integer.BYTES;
+			if (count == 0)
+				break;
+			buffer.asIntBuffer().get(chunk, n, count);
+			n += count;
+			buffer.clear();
+		}
+		return n;
+	}
+
+	/**
+	 * Writes chunk[0..n-1] to the specified file through the direct buffer.
+	 */
+	private static void writeInts(Path file, int[] chunk, int n, ByteBuffer buffer) throws IOException {
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			int ints = buffer.capacity() / Integer.BYTES;
+			for (int i = 0; i < n; i += ints) {
+				int count = Math.min(ints, n - i);
+				buffer.clear();
+				buffer.asIntBuffer().put(chunk, i, count);
+				buffer.limit(count * Integer.BYTES);
+				while (buffer.hasRemaining())
+					out.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Merges the sorted run files into the destination file with a loser tree.
+	 * @param runs Sorted input runs
+	 * @param destination File receiving the merged run
+	 */
+	private void merge(List<Path> runs, Path destination) throws IOException {
+		int k = runs.size();
+		RunReader[] readers = new RunReader[k];
+		RunWriter writer = new RunWriter(destination);
+
+		try {
+			for (int i = 0; i < k; i++)
+				readers[i] = new RunReader(runs.get(i));
+
+			LoserTree tree = new LoserTree(readers);
+			while (tree.hasNext())
+				writer.write(tree.next());
+		}
+		finally {
+			for (RunReader r : readers) {
+				if (r != null) {
+					mergePhaseBytesRead += r.bytesRead();
+					r.close();
+				}
+			}
+			writer.close();
+			mergePhaseBytesWritten += writer.bytesWritten();
+		}
+	}
+
+	/**
+	 * @return bytes read while forming runs during the last sort
+	 */
+	public long getRunPhaseBytesRead() {
+		return runPhaseBytesRead;
+	}
+
+	/**
+	 * @return bytes written while forming runs during the last sort
+	 */
+	public long getRunPhaseBytesWritten() {
+		return runPhaseBytesWritten;
+	}
+
+	/**
+	 * @return bytes read by all merge passes of the last sort
+	 */
+	public long getMergePhaseBytesRead() {
+		return mergePhaseBytesRead;
+	}
+
+	/**
+	 * @return bytes written by all merge passes of the last sort
+	 */
+	public long getMergePhaseBytesWritten() {
+		return mergePhaseBytesWritten;
+	}
+
+	/**
+	 * @return number of sorted runs formed during the last sort
+	 */
+	public int getRunCount() {
+		return runCount;
+	}
+
+	/**
+	 * @return number of merge passes performed during the last sort (including the final one)
+	 */
+	public int getMergePasses() {
+		return mergePasses;
+	}
+
+	/**
+	 * Buffered sequential reader of the ints of one run file.
+	 */
+	private final class RunReader implements AutoCloseable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+		private final IntBuffer ints;
+		private long bytesRead;
+
+		RunReader(Path file) throws IOException {
+			channel = FileChannel.open(file, StandardOpenOption.READ);
+			buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(order);
+			ints = buffer.asIntBuffer();
+			ints.limit(0);
+		}
+
+		/**
+		 * @return true if another int is available; refills the buffer when it runs dry
+		 */
+		boolean hasNext() throws IOException {
+			if (ints.hasRemaining())
+				return true;
+
+			buffer.clear();
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+				;
+			int count = buffer.position() / Integer.BYTES;
+			bytesRead += buffer.position();
+			ints.clear();
+			ints.limit(count);
+			return count > 0;
+		}
+
+		int next() {
+			return ints.get();
+		}
+
+		long bytesRead() {
+			return bytesRead;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Buffered sequential writer of ints into one file.
+	 */
+	private final class RunWriter implements AutoCloseable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+		private final IntBuffer ints;
+		private long bytesWritten;
+
+		RunWriter(Path file) throws IOException {
+			channel = FileChannel.open(file, StandardOpenOption.WRITE,
+					StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+			buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(order);
+			ints = buffer.asIntBuffer();
+		}
+
+		void write(int value) throws IOException {
+			if (!ints.hasRemaining())
+				flush();
+			ints.put(value);
+		}
+
+		private void flush() throws IOException {
+			buffer.clear();
+			buffer.limit(ints.position() * Integer.BYTES);
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			bytesWritten += buffer.limit();
+			ints.clear();
+		}
+
+		long bytesWritten() {
+			return bytesWritten;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			}
+			finally {
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Tournament tree of losers over k sorted runs.
+	 * tree[0] holds the index of the current overall winner (smallest head), every other
+	 * node holds the loser of the match played there. Exhausted runs have the head
+	 * Long.MAX_VALUE, which loses every match against a real int.
+	 */
+	private static final class LoserTree {
+		private static final long EXHAUSTED = Long.MAX_VALUE;
+
+		private final RunReader[] readers;
+		private final long[] heads;
+		private final int[] tree;
+		private final int k;
+
+		LoserTree(RunReader[] readers) throws IOException {
+			this.readers = readers;
+			this.k = readers.length;
+			this.heads = new long[k + 1];
+			this.tree = new int[k];
+
+			// sentinel run k with the smallest possible head wins every match while the tree is built
+			heads[k] = Long.MIN_VALUE;
+			for (int i = 0; i < k; i++) {
+				tree[i] = k;
+				heads[i] = readers[i].hasNext() ? readers[i].next() : EXHAUSTED;
+			}
+			for (int i = k - 1; i >= 0; i--)
+				adjust(i);
+		}
+
+		boolean hasNext() {
+			return heads[tree[0]] != EXHAUSTED;
+		}
+
+		int next() throws IOException {
+			int winner = tree[0];
+			int value = (int) heads[winner];
+
+			heads[winner] = readers[winner].hasNext() ? readers[winner].next() : EXHAUSTED;
+			adjust(winner);
+			return value;
+		}
+
+		/**
+		 * Replays the matches from leaf s up to the root.
+		 */
+		private void adjust(int s) {
+			for (int t = (s + k) >>> 1; t > 0; t >>>= 1) {
+				if (heads[s] > heads[tree[t]]) {
+					int temp = s;
+					s = tree[t];
+					tree[t] = temp;
+				}
+			}
+			tree[0] = s;
+		}
+	}
+
+}
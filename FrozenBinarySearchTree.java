@@ -0,0 +1,203 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+/**
+ * Immutable read-only BinarySearchTree stored in Eytzinger (BFS) order.
+ * Created by BinarySearchTree.freeze(). The elements live in one array laid out like a
+ * binary heap: the root is at index 1 and the children of index i are at 2i and 2i+1.
+ * A search touches one array slot per level instead of one scattered node object, the
+ * top levels of every search share the same few cache lines, and the descent
+ * 		i = 2*i + (element[i] < target ? 1 : 0)
+ * has no data-dependent branch. The path taken is encoded in the bits of the final
+ * index, which gives floor and ceiling without backtracking.
+ * @author Tsuki
+ *
+ */
+public class FrozenBinarySearchTree<T>
+{
+	/**
+	 * Elements in Eytzinger order; slot 0 is unused.
+	 */
+	private final Object[] tree;
+	/**
+	 * Number of elements.
+	 */
+	private final int n;
+
+
+	/**
+	 * Constructor used by BinarySearchTree.freeze().
+	 * @param inOrder Iterator returning the elements in sorted order
+	 * @param n Number of elements the iterator returns
+	 */
+	FrozenBinarySearchTree(Iterator<T> inOrder, int n)
+	{
+		this.n = n;
+		this.tree = new Object[n + 1];
+		fill(inOrder, 1);
+	}
+
+
+	/**
+	 * Places the sorted elements by an in-order walk over the implicit tree.
+	 * @param inOrder Sorted elements
+	 * @param i Current index
+	 */
+	private void fill(Iterator<T> inOrder, int i)
+	{
+		if (i > n)
+			return;
+		fill(inOrder, 2 * i);
+		tree[i] = inOrder.next();
+		fill(inOrder, 2 * i + 1);
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return a reference to the first (least in order) element equal to the target
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T find(T targetElement) throws ElementNotFoundException
+	{
+		int i = lowerBound(targetElement);
+		if (i == 0 || ((Comparable<T>) targetElement).compareTo(element(i)) != 0)
+			throw new ElementNotFoundException("Frozen Binary Search Tree");
+		return element(i);
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return true if this tree contains an element equal to the specified one
+	 */
+	public boolean contains(T targetElement)
+	{
+		int i = lowerBound(targetElement);
+		return i != 0 && ((Comparable<T>) targetElement).compareTo(element(i)) == 0;
+	}
+
+
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return the least element greater than or equal to the specified element; null if none
+	 */
+	public T ceiling(T element)
+	{
+		int i = lowerBound(element);
+		return i == 0 ? null : element(i);
+	}
+
+
+	/**
+	 * @param element Specified element (need not be in this tree)
+	 * @return the greatest element less than or equal to the specified element; null if none
+	 */
+	public T floor(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		int i = 1;
+
+		// step right (bit 1) while element[i] <= target
+		while (i <= n)
+			i = 2 * i + (~target.compareTo(element(i)) >>> 31);
+
+		// the answer is the last node where the walk stepped right:
+		// drop the trailing left steps (0 bits) and that right step
+		i >>>= Integer.numberOfTrailingZeros(i) + 1;
+		return i == 0 ? null : element(i);
+	}
+
+
+	/**
+	 * @return number of elements in this tree
+	 */
+	public int size()
+	{
+		return n;
+	}
+
+
+	/**
+	 * @return true if this tree is empty; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return n == 0;
+	}
+
+
+	/**
+	 * In-order iterator; walks the implicit tree with index arithmetic only (O(1) space).
+	 * @return an iterator over the elements in sorted order
+	 */
+	public Iterator<T> iteratorInOrder()
+	{
+		return new Iterator<T>()
+		{
+			private int i = leftmost(1);
+
+			public boolean hasNext()
+			{
+				return i != 0;
+			}
+
+			public T next()
+			{
+				if (i == 0)
+					throw new NoSuchElementException();
+
+				T result = element(i);
+				if (2 * i + 1 <= n)
+					i = leftmost(2 * i + 1);	// successor is the leftmost node of the right subtree
+				else
+				{
+					// climb while coming from a right child, then once more
+					i >>>= Integer.numberOfTrailingZeros(~i) + 1;
+				}
+				return result;
+			}
+		};
+	}
+
+
+	/**
+	 * Branch-free lower-bound search.
+	 * @param element Specified element
+	 * @return index of the least element >= the specified one; 0 if there is none
+	 */
+	private int lowerBound(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+		int i = 1;
+
+		// step right (bit 1) while element[i] < target
+		while (i <= n)
+			i = 2 * i + (target.compareTo(element(i)) > 0 ? 1 : 0);
+
+		// the answer is the last node where the walk stepped left:
+		// drop the trailing right steps (1 bits) and that left step
+		return i >>> (Integer.numberOfTrailingZeros(~i) + 1);
+	}
+
+
+	/**
+	 * @param i Index of a subtree root (may be > n)
+	 * @return index of the leftmost node of that subtree; 0 if the subtree is empty
+	 */
+	private int leftmost(int i)
+	{
+		if (i > n)
+			return 0;
+		while (2 * i <= n)
+			i = 2 * i;
+		return i;
+	}
+
+
+	private T element(int i)
+	{
+		return (T) tree[i];
+	}
+
+}
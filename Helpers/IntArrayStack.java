@@ -0,0 +1,197 @@
+package Helpers;
+
+/**
+ * Array-based stack of primitive ints.
+ * Unlike ArrayStack<Integer> nothing is boxed, and whole blocks of elements can be
+ * moved between stacks or drained into an array with a single array copy.
+ * @author Tsuki
+ *
+ */
+public class IntArrayStack
+{
+	/**
+	 * Default capacity of a new stack.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+	/**
+	 * Elements of this stack; stack[top - 1] is the top element.
+	 */
+	private int[] stack;
+	/**
+	 * Number of elements in this stack (also the index of the next free slot).
+	 */
+	private int top;
+
+
+	/**
+	 * Constructor(1) used to create an empty stack with the default capacity.
+	 */
+	public IntArrayStack()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+
+	/**
+	 * Constructor(2) used to create an empty stack with the specified initial capacity.
+	 * @param initialCapacity Number of elements the stack holds before it has to grow
+	 */
+	public IntArrayStack(int initialCapacity)
+	{
+		stack = new int[Math.max(initialCapacity, 1)];
+		top = 0;
+	}
+
+
+	/**
+	 * Adds the specified element to the top of this stack.
+	 * @param element Specified element
+	 */
+	public void push(int element)
+	{
+		if (top == stack.length)
+			ensureCapacity(top + 1);
+
+		stack[top++] = element;
+	}
+
+
+	/**
+	 * @return the element removed from the top of this stack
+	 * @throws EmptyCollectionException if stack is empty
+	 */
+	public int pop() throws EmptyCollectionException
+	{
+		if (isEmpty())
+			throw new EmptyCollectionException("IntArrayStack");
+
+		return stack[--top];
+	}
+
+
+	/**
+	 * @return the element at the top of this stack
+	 * @throws EmptyCollectionException if stack is empty
+	 */
+	public int peek() throws EmptyCollectionException
+	{
+		if (isEmpty())
+			throw new EmptyCollectionException("IntArrayStack");
+
+		return stack[top - 1];
+	}
+
+
+	/**
+	 * @param depth Number of elements above the requested one (0 is the top element)
+	 * @return the element depth positions below the top of this stack
+	 * @throws IndexOutOfBoundsException if depth is negative or not less than size()
+	 */
+	public int peek(int depth)
+	{
+		if (depth < 0 || depth >= top)
+			throw new IndexOutOfBoundsException("depth " + depth + ", size " + top);
+
+		return stack[top - 1 - depth];
+	}
+
+
+	/**
+	 * Moves the top count elements of this stack onto the top of the specified stack as one
+	 * block. The block keeps its order, so the top of this stack becomes the top of dest; this
+	 * is the same as popping them onto an intermediate stack and popping them back onto dest.
+	 * @param dest Stack receiving the elements
+	 * @param count Number of elements to move
+	 * @throws IndexOutOfBoundsException if count is negative or greater than size()
+	 */
+	public void transferTo(IntArrayStack dest, int count)
+	{
+		if (count < 0 || count > top)
+			throw new IndexOutOfBoundsException("count " + count + ", size " + top);
+
+		dest.ensureCapacity(dest.top + count);
+		top -= count;
+		System.arraycopy(stack, top, dest.stack, dest.top, count);
+		dest.top += count;
+	}
+
+
+	/**
+	 * Pops every element of this stack into the specified array, top element first.
+	 * @param dest Array receiving the elements
+	 * @param offset Index in dest where the top element is written
+	 * @return number of elements written
+	 * @throws IndexOutOfBoundsException if dest cannot hold size() elements from offset
+	 */
+	public int drain(int[] dest, int offset)
+	{
+		int n = top;
+		if (offset < 0 || offset > dest.length - n)
+			throw new IndexOutOfBoundsException("offset " + offset + ", size " + n);
+
+		for (int i = 0; i < n; i++)
+			dest[offset + i] = stack[n - 1 - i];
+
+		top = 0;
+		return n;
+	}
+
+
+	/**
+	 * Removes every element from this stack; the backing array is kept for reuse.
+	 */
+	public void clear()
+	{
+		top = 0;
+	}
+
+
+	/**
+	 * @return true if this stack is empty; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return top == 0;
+	}
+
+
+	/**
+	 * @return number of elements in this stack
+	 */
+	public int size()
+	{
+		return top;
+	}
+
+
+	/**
+	 * Grows the backing array (at least doubling it) so it can hold minCapacity elements.
+	 * @param minCapacity Required capacity
+	 */
+	private void ensureCapacity(int minCapacity)
+	{
+		if (minCapacity > stack.length)
+		{
+			int[] larger = new int[Math.max(minCapacity, stack.length * 2)];
+			System.arraycopy(stack, 0, larger, 0, top);
+			stack = larger;
+		}
+	}
+
+
+	/**
+	 * @return String representation of this stack, from bottom to top
+	 */
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < top; i++)
+		{
+			if (i > 0)
+				sb.append(", ");
+			sb.append(stack[i]);
+		}
+		return sb.append("]").toString();
+	}
+
+}
@@ -1,4 +1,4 @@
-import Helpers.ArrayStack;  // ArrayStack Data Structure
+import Helpers.IntArrayStack;  // Primitive int ArrayStack Data Structure
 /**
  * 
  * Insertion Sort Algorithms Demonstration in Java
@@ -14,11 +14,13 @@ import Helpers.ArrayStack;  // ArrayStack Data Structure
  * temp = empty stack
  * 
  * for i=0 to n-1 do {
- *   while (sorted is not empty) and (sorted.peek() < A[i]) do
- *   	temp.push(sorted.pop())
+ *   k = 0
+ *   while (k < sorted.size()) and (sorted.peek(k) < A[i]) do
+ *   	k = k+1
+ *   {move the top k items as one block; equivalent to k pops and pushes}
+ *   sorted.transferTo(temp, k)
  *   sorted.push(A[i])
- *   while (temp is not empty) do
- *   	sorted.push(temp.pop())
+ *   temp.transferTo(sorted, k)
  * }
  * 
  * for i=0 to n-1 do
@@ -42,6 +44,20 @@ import Helpers.ArrayStack;  // ArrayStack Data Structure
  * }
  *   
  * ------------------------------------
+ * [ Binary In-Place Algorithm ]
+ *
+ * Algorithm BinaryInsertionSort(A, lo, hi, start)
+ * In: Array A whose range A[lo..start-1] is already sorted
+ * Out: {Sort A[lo..hi-1] in increasing order}
+ *
+ * for i=start to hi-1 do {
+ *   temp = A[i]
+ *   j = first index in A[lo..i-1] with A[j] > temp  (binary search)
+ *   shift A[j..i-1] one place to the right          (block copy)
+ *   A[j] = temp
+ * }
+ *
+ * ------------------------------------
  * 
  * Order of Time Complexity: 
  *
@@ -63,19 +79,19 @@ public class InsertionSort {
 	 */
 	public int[] Sort_UsingStacks(int[] A, int n) {
 		
-		ArrayStack<Integer> sorted = new ArrayStack<Integer>();
-		ArrayStack<Integer> temp = new ArrayStack<Integer>();
+		IntArrayStack sorted = new IntArrayStack(n);
+		IntArrayStack temp = new IntArrayStack(n);
 		
 		for (int i = 0; i < n; i++) {
-			while (!sorted.isEmpty() && sorted.peek() < A[i])
-				temp.push(sorted.pop());
+			int k = 0;
+			while (k < sorted.size() && sorted.peek(k) < A[i])
+				k++;
+			sorted.transferTo(temp, k);
 			sorted.push(A[i]);
-			while (!temp.isEmpty())
-				sorted.push(temp.pop());
+			temp.transferTo(sorted, k);
 		}
 		
-		for (int i = 0; i < n; i++)
-			A[i] = sorted.pop();
+		sorted.drain(A, 0);
 		
 		return A;
 	}
@@ -103,5 +119,37 @@ public class InsertionSort {
 		}
 		return A;
 	}
+	
+	/**
+	 * Binary In-Place Algorithm for Insertion Sort.
+	 * Extends the already sorted prefix A[lo..start-1] to cover A[lo..hi-1]; the insertion
+	 * point is found by binary search and the shift is a single block copy. Equal items keep
+	 * their relative order.
+	 * @param A Partially Ordered Array
+	 * @param lo First index of the range (inclusive)
+	 * @param hi Last index of the range (exclusive)
+	 * @param start First index that is not yet part of the sorted prefix
+	 */
+	public static void Sort_BinaryInPlace(int[] A, int lo, int hi, int start) {
+		
+		if (start == lo)
+			start++;
+		
+		for (; start < hi; start++) {
+			int temp = A[start];
+			int left = lo;
+			int right = start;
+			
+			while (left < right) {
+				int mid = (left + right) >>> 1;
+				if (temp < A[mid])
+					right = mid;
+				else
+					left = mid + 1;
+			}
+			System.arraycopy(A, left, A, left + 1, start - left);
+			A[left] = temp;
+		}
+	}
   
 }
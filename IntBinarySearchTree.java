@@ -0,0 +1,492 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Arrays;
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+import Helpers.EmptyCollectionException;		// RuntimeException Class
+import Helpers.IntArrayStack;				// Primitive Int Stack Data Structure
+import Helpers.ArrayUnorderedList;			// Unordered ArrayList Data Structure
+/**
+ * BinarySearchTree specialized for primitive int keys.
+ * Nodes are slots in three parallel arrays instead of BinaryTreeNode objects:
+ * 		keys[i]		key of node i
+ * 		left[i]		index of its left child, or NIL
+ * 		right[i]	index of its right child, or NIL
+ * which costs 12 bytes per key instead of a node object plus a boxed Integer, and keeps
+ * neighbouring nodes close in memory. Keys are compared with primitive operators.
+ * Slots of removed nodes are chained into a free list (through left[]) and reused.
+ * Like BinarySearchTree the tree is not self-balancing, equal keys go into the right
+ * subtree, and every operation is iterative, so degenerate trees cannot overflow the stack.
+ * @author Tsuki
+ *
+ */
+public final class IntBinarySearchTree
+{
+	/**
+	 * Index used for a missing child.
+	 */
+	private static final int NIL = -1;
+	
+	private int[] keys;
+	private int[] left;
+	private int[] right;
+	/**
+	 * Index of the root node; NIL if empty.
+	 */
+	private int root;
+	/**
+	 * Head of the free-slot list (chained through left[]); NIL if empty.
+	 */
+	private int free;
+	/**
+	 * Number of slots ever used (slots >= this have never been handed out).
+	 */
+	private int used;
+	/**
+	 * Number of nodes in this tree.
+	 */
+	private int numberOfNodes;
+	
+	
+	/**
+	 * Constructor(1) used to create an empty tree.
+	 */
+	public IntBinarySearchTree()
+	{
+		keys = new int[16];
+		left = new int[16];
+		right = new int[16];
+		root = NIL;
+		free = NIL;
+		used = 0;
+		numberOfNodes = 0;
+	}
+	
+	
+	/**
+	 * Constructor(2) used to create a new tree with the specified element as its root.
+	 * @param element Specified element
+	 */
+	public IntBinarySearchTree(int element)
+	{
+		this();
+		root = allocate(element);
+		numberOfNodes = 1;
+	}
+	
+	
+	/**
+	 * Inserts a new node with given element at the correct position.
+	 * @param element Specified element
+	 */
+	public void addElement(int element)
+	{
+		int node = allocate(element);
+		numberOfNodes++;
+		
+		if (root == NIL)
+		{
+			root = node;
+			return;
+		}
+		
+		int current = root;
+		while (true)
+		{
+			// check if node should go into left subtree
+			if (element < keys[current])
+			{
+				if (left[current] == NIL)
+				{
+					left[current] = node;	// add if space is free
+					return;
+				}
+				current = left[current];
+			}
+			// node should go into right subtree
+			else
+			{
+				if (right[current] == NIL)
+				{
+					right[current] = node;	// add if space is free
+					return;
+				}
+				current = right[current];
+			}
+		}
+	}
+	
+	
+	/**
+	 * Removes the first node on the search path whose key equals the specified element.
+	 * @param targetElement Specified element
+	 * @return the removed element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public int removeElement(int targetElement) throws ElementNotFoundException
+	{
+		int parent = NIL;
+		int current = root;
+		
+		while (current != NIL && keys[current] != targetElement)
+		{
+			parent = current;
+			current = targetElement < keys[current] ? left[current] : right[current];
+		}
+		if (current == NIL)
+			throw new ElementNotFoundException("Int Binary Search Tree");
+		
+		unlink(current, parent);
+		return targetElement;
+	}
+	
+	
+	/**
+	 * Removes every node with an element that matches the specified target in this tree
+	 * @param targetElement Specified element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public void removeAllOccurrences(int targetElement) throws ElementNotFoundException
+	{
+		removeElement(targetElement);
+		while (contains(targetElement))
+			removeElement(targetElement);
+	}
+	
+	
+	/**
+	 * @return the least element in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public int removeMin() throws EmptyCollectionException
+	{
+		if (root == NIL)
+			throw new EmptyCollectionException("Int Binary Search Tree");
+		
+		int parent = NIL;
+		int current = root;
+		while (left[current] != NIL)
+		{
+			parent = current;
+			current = left[current];
+		}
+		
+		int result = keys[current];
+		unlink(current, parent);
+		return result;
+	}
+	
+	
+	/**
+	 * @return the highest element in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public int removeMax() throws EmptyCollectionException
+	{
+		if (root == NIL)
+			throw new EmptyCollectionException("Int Binary Search Tree");
+		
+		int parent = NIL;
+		int current = root;
+		while (right[current] != NIL)
+		{
+			parent = current;
+			current = right[current];
+		}
+		
+		int result = keys[current];
+		unlink(current, parent);
+		return result;
+	}
+	
+	
+	/**
+	 * @return the least element in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public int findMin() throws EmptyCollectionException
+	{
+		if (root == NIL)
+			throw new EmptyCollectionException("Int Binary Search Tree");
+		
+		int current = root;
+		while (left[current] != NIL)
+			current = left[current];
+		return keys[current];
+	}
+	
+	
+	/**
+	 * @return the highest element in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public int findMax() throws EmptyCollectionException
+	{
+		if (root == NIL)
+			throw new EmptyCollectionException("Int Binary Search Tree");
+		
+		int current = root;
+		while (right[current] != NIL)
+			current = right[current];
+		return keys[current];
+	}
+	
+	
+	/**
+	 * @param targetElement Specified element
+	 * @return the element of the node that matches the specified target
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public int find(int targetElement) throws ElementNotFoundException
+	{
+		if (!contains(targetElement))
+			throw new ElementNotFoundException("Int Binary Search Tree");
+		return targetElement;
+	}
+	
+	
+	/**
+	 * @param targetElement Specified element
+	 * @return true if this tree contains a node with specified element; false otherwise
+	 */
+	public boolean contains(int targetElement)
+	{
+		int current = root;
+		while (current != NIL)
+		{
+			int key = keys[current];
+			if (targetElement == key)
+				return true;
+			current = targetElement < key ? left[current] : right[current];
+		}
+		return false;
+	}
+	
+	
+	/**
+	 * @return number of nodes in this tree
+	 */
+	public int size()
+	{
+		return numberOfNodes;
+	}
+	
+	
+	/**
+	 * @return true if this tree is empty; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return numberOfNodes == 0;
+	}
+	
+	
+	/**
+	 * @return the height of this tree; -1 if empty
+	 */
+	public int height()
+	{
+		if (root == NIL)
+			return -1;
+		
+		IntArrayStack nodes = new IntArrayStack();
+		IntArrayStack depths = new IntArrayStack();
+		int height = 0;
+		
+		nodes.push(root);
+		depths.push(0);
+		while (!nodes.isEmpty())
+		{
+			int node = nodes.pop();
+			int depth = depths.pop();
+			height = Math.max(height, depth);
+			
+			if (left[node] != NIL)
+			{
+				nodes.push(left[node]);
+				depths.push(depth + 1);
+			}
+			if (right[node] != NIL)
+			{
+				nodes.push(right[node]);
+				depths.push(depth + 1);
+			}
+		}
+		return height;
+	}
+	
+	
+	/**
+	 * Releases unused capacity: the nodes are compacted into slots 0..size()-1 in
+	 * pre-order, which also places each parent next to its left child.
+	 */
+	public void trimToSize()
+	{
+		int n = numberOfNodes;
+		int[] newKeys = new int[Math.max(n, 1)];
+		int[] newLeft = new int[newKeys.length];
+		int[] newRight = new int[newKeys.length];
+		
+		if (root != NIL)
+		{
+			// 1. Number the nodes in pre-order.
+			int[] moved = new int[used];	// old slot -> new slot
+			int[] order = new int[n];		// new slot -> old slot
+			IntArrayStack pending = new IntArrayStack();
+			int next = 0;
+			
+			pending.push(root);
+			while (!pending.isEmpty())
+			{
+				int node = pending.pop();
+				moved[node] = next;
+				order[next++] = node;
+				
+				if (right[node] != NIL)
+					pending.push(right[node]);
+				if (left[node] != NIL)
+					pending.push(left[node]);
+			}
+			
+			// 2. Copy the nodes and translate their child links.
+			for (int i = 0; i < n; i++)
+			{
+				int node = order[i];
+				newKeys[i] = keys[node];
+				newLeft[i] = left[node] == NIL ? NIL : moved[left[node]];
+				newRight[i] = right[node] == NIL ? NIL : moved[right[node]];
+			}
+			root = 0;
+		}
+		
+		keys = newKeys;
+		left = newLeft;
+		right = newRight;
+		used = n;
+		free = NIL;
+	}
+	
+	
+	/**
+	 * @return a lazy in-order iterator over this tree (no boxing through nextInt())
+	 */
+	public PrimitiveIterator.OfInt iteratorInOrder()
+	{
+		return new PrimitiveIterator.OfInt()
+		{
+			private final IntArrayStack stack = new IntArrayStack();
+			
+			{
+				pushLeftSpine(root);
+			}
+			
+			public boolean hasNext()
+			{
+				return !stack.isEmpty();
+			}
+			
+			public int nextInt()
+			{
+				if (stack.isEmpty())
+					throw new NoSuchElementException();
+				
+				int node = stack.pop();
+				pushLeftSpine(right[node]);
+				return keys[node];
+			}
+			
+			private void pushLeftSpine(int node)
+			{
+				while (node != NIL)
+				{
+					stack.push(node);
+					node = left[node];
+				}
+			}
+		};
+	}
+	
+	
+	/**
+	 * @return In-order String representation of this tree
+	 */
+	public String toString()
+	{
+		ArrayUnorderedList<Integer> list = new ArrayUnorderedList<Integer>();
+		PrimitiveIterator.OfInt iterator = iteratorInOrder();
+		
+		while (iterator.hasNext())
+			list.addToRear(iterator.nextInt());
+		return list.toString();
+	}
+	
+	
+	/**
+	 * Removes the specified node from the tree and frees its slot.
+	 * A node with two children takes over the key of its in-order successor, whose slot
+	 * is unlinked instead (it has no left child).
+	 * @param node Node to be removed
+	 * @param parent Its parent; NIL for the root
+	 */
+	private void unlink(int node, int parent)
+	{
+		if (left[node] != NIL && right[node] != NIL)
+		{
+			int successorParent = node;
+			int successor = right[node];
+			while (left[successor] != NIL)
+			{
+				successorParent = successor;
+				successor = left[successor];
+			}
+			
+			keys[node] = keys[successor];
+			node = successor;
+			parent = successorParent;
+		}
+		
+		// node has at most one child
+		int child = left[node] != NIL ? left[node] : right[node];
+		if (parent == NIL)
+			root = child;
+		else if (left[parent] == node)
+			left[parent] = child;
+		else
+			right[parent] = child;
+		
+		left[node] = free;	// push the slot onto the free list
+		free = node;
+		numberOfNodes--;
+	}
+	
+	
+	/**
+	 * @param element Key of the new node
+	 * @return index of a leaf slot holding the key (reused from the free list if possible)
+	 */
+	private int allocate(int element)
+	{
+		int node;
+		if (free != NIL)
+		{
+			node = free;
+			free = left[node];
+		}
+		else
+		{
+			if (used == keys.length)
+			{
+				int capacity = keys.length + (keys.length >> 1) + 1;
+				keys = Arrays.copyOf(keys, capacity);
+				left = Arrays.copyOf(left, capacity);
+				right = Arrays.copyOf(right, capacity);
+			}
+			node = used++;
+		}
+		
+		keys[node] = element;
+		left[node] = NIL;
+		right[node] = NIL;
+		return node;
+	}
+	
+}
@@ -0,0 +1,292 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+/**
+ *
+ * In-Place Sorting of java.nio.IntBuffer Ranges in Java
+ *
+ * Sorts buffer[offset..offset+length-1] through absolute get/put calls, so direct and
+ * memory-mapped buffers are sorted where they live: nothing is copied onto the heap and
+ * the buffer's position, limit and mark are left untouched. Byte order is whatever the
+ * buffer was created with (see ByteBuffer.order().asIntBuffer()).
+ *
+ * ------------------------------------
+ * [ Algorithms ]
+ *
+ * Sort_Insertion	same as InsertionSort.Sort_InPlace
+ * Sort_Intro		same as QuickSort.Sort_Recursively (introsort)
+ * Sort_Radix		same as RadixSort.Sort_LSD, with a caller-supplied scratch buffer and optional histogram
+ *
+ * ------------------------------------
+ *
+ * Order of Time Complexity:
+ *
+ * Sort_Insertion:	O(n) best, O(n^2) worst
+ * Sort_Intro:		O(n log2(n))
+ * Sort_Radix:		O(4 * n)
+ *
+ */
+public class IntBufferSort {
+
+	/**
+	 * In-Place Insertion Sort of buffer[offset..offset+length-1]
+	 * @param buffer Buffer holding the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @return the buffer
+	 * @throws IndexOutOfBoundsException if the range is outside the buffer
+	 */
+	public static IntBuffer Sort_Insertion(IntBuffer buffer, int offset, int length) {
+		checkRange(buffer, offset, length);
+		insertionSort(buffer, offset, offset + length);
+		return buffer;
+	}
+
+	/**
+	 * In-Place Introsort of buffer[offset..offset+length-1]
+	 * @param buffer Buffer holding the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @return the buffer
+	 * @throws IndexOutOfBoundsException if the range is outside the buffer
+	 */
+	public static IntBuffer Sort_Intro(IntBuffer buffer, int offset, int length) {
+		checkRange(buffer, offset, length);
+		if (length > 1)
+			introSort(buffer, offset, offset + length, QuickSort.depthLimit(length));
+		return buffer;
+	}
+
+	/**
+	 * LSD Radix Sort of buffer[offset..offset+length-1].
+	 * The scratch buffer should be direct too if the sort is to stay off the heap.
+	 * The small histogram array is allocated per call (see the overload taking it too).
+	 * @param buffer Buffer holding the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @param scratch Buffer for intermediate passes (may be the same buffer at a disjoint range);
+	 * 		scratch[scratchOffset..scratchOffset+length-1] is overwritten
+	 * @param scratchOffset Index of the first scratch item
+	 * @return the buffer
+	 * @throws IndexOutOfBoundsException if either range is outside its buffer
+	 * @throws IllegalArgumentException if scratch is buffer and the two ranges overlap
+	 */
+	public static IntBuffer Sort_Radix(IntBuffer buffer, int offset, int length, IntBuffer scratch, int scratchOffset) {
+		return Sort_Radix(buffer, offset, length, scratch, scratchOffset, new int[RadixSort.INT_COUNT_LENGTH]);
+	}
+
+	/**
+	 * LSD Radix Sort of buffer[offset..offset+length-1] with a caller-supplied histogram;
+	 * reusing the scratch buffer and the histogram across calls makes repeated sorts allocate nothing.
+	 * @param buffer Buffer holding the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @param scratch Buffer for intermediate passes (may be the same buffer at a disjoint range);
+	 * 		scratch[scratchOffset..scratchOffset+length-1] is overwritten
+	 * @param scratchOffset Index of the first scratch item
+	 * @param count Histogram array holding at least RadixSort.INT_COUNT_LENGTH items; its contents are overwritten
+	 * @return the buffer
+	 * @throws IndexOutOfBoundsException if either range is outside its buffer
+	 * @throws IllegalArgumentException if count is shorter than RadixSort.INT_COUNT_LENGTH, or scratch is
+	 * 		buffer and the two ranges overlap
+	 */
+	public static IntBuffer Sort_Radix(IntBuffer buffer, int offset, int length, IntBuffer scratch, int scratchOffset,
+			int[] count) {
+		checkRange(buffer, offset, length);
+		checkRange(scratch, scratchOffset, length);
+		if (scratch == buffer && scratchOffset < offset + length && offset < scratchOffset + length)
+			throw new IllegalArgumentException("scratch range overlaps the items at offset " + scratchOffset);
+		if (count.length < RadixSort.INT_COUNT_LENGTH)
+			throw new IllegalArgumentException("count holds " + count.length + " items, need " + RadixSort.INT_COUNT_LENGTH);
+		if (length < 2)
+			return buffer;
+
+		final int passes = 4;
+		Arrays.fill(count, 0, passes * 256, 0);
+
+		for (int i = offset; i < offset + length; i++) {
+			int x = buffer.get(i) ^ Integer.MIN_VALUE;	// flip the sign bit
+			for (int p = 0; p < passes; p++)
+				count[(p << 8) + ((x >>> (p << 3)) & 0xFF)]++;
+		}
+
+		IntBuffer src = buffer;
+		int srcOffset = offset;
+		IntBuffer dst = scratch;
+		int dstOffset = scratchOffset;
+		boolean inScratch = false;	// scratch may be the same buffer, so track the side by passes
+		int first = buffer.get(offset) ^ Integer.MIN_VALUE;
+
+		for (int p = 0; p < passes; p++) {
+			int shift = p << 3;
+			int base = p << 8;
+
+			// all keys share this digit
+			if (count[base + ((first >>> shift) & 0xFF)] == length)
+				continue;
+
+			int sum = 0;
+			for (int v = base; v < base + 256; v++) {
+				int c = count[v];
+				count[v] = sum;
+				sum += c;
+			}
+
+			for (int i = 0; i < length; i++) {
+				int x = src.get(srcOffset + i);
+				dst.put(dstOffset + count[base + (((x ^ Integer.MIN_VALUE) >>> shift) & 0xFF)]++, x);
+			}
+
+			IntBuffer tb = src;
+			src = dst;
+			dst = tb;
+			int to = srcOffset;
+			srcOffset = dstOffset;
+			dstOffset = to;
+			inScratch = !inScratch;
+		}
+
+		if (inScratch) {
+			for (int i = 0; i < length; i++)
+				buffer.put(offset + i, src.get(srcOffset + i));
+		}
+		return buffer;
+	}
+
+	/**
+	 * @throws IndexOutOfBoundsException if [offset, offset+length) is not inside the buffer
+	 */
+	private static void checkRange(IntBuffer buffer, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > buffer.limit() - length)
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", limit " + buffer.limit());
+	}
+
+	/**
+	 * Introsort of B[lo..hi-1]; see QuickSort.introSort.
+	 */
+	private static void introSort(IntBuffer B, int lo, int hi, int depth) {
+		while (hi - lo > QuickSort.INSERTION_THRESHOLD) {
+			if (depth == 0) {
+				heapSort(B, lo, hi);
+				return;
+			}
+			depth--;
+
+			long bounds = partition(B, lo, hi, choosePivot(B, lo, hi));
+			int lt = (int) (bounds >>> 32);
+			int gt = (int) bounds;
+
+			if (lt - lo < hi - gt) {
+				introSort(B, lo, lt, depth);
+				lo = gt + 1;
+			}
+			else {
+				introSort(B, gt + 1, hi, depth);
+				hi = lt;
+			}
+		}
+		insertionSort(B, lo, hi);
+	}
+
+	/**
+	 * Bentley-McIlroy three-way partition of B[lo..hi-1]; see QuickSort.partition.
+	 * @return lt in the upper 32 bits and gt in the lower 32 bits
+	 */
+	private static long partition(IntBuffer B, int lo, int hi, int pivot) {
+		int a = lo, b = lo;
+		int c = hi - 1, d = hi - 1;
+
+		while (true) {
+			int x;
+			while (b <= c && (x = B.get(b)) <= pivot) {
+				if (x == pivot)
+					swap(B, a++, b);
+				b++;
+			}
+			while (c >= b && (x = B.get(c)) >= pivot) {
+				if (x == pivot)
+					swap(B, c, d--);
+				c--;
+			}
+			if (b > c)
+				break;
+			swap(B, b++, c--);
+		}
+
+		int s = Math.min(a - lo, b - a);
+		for (int k = 0; k < s; k++)
+			swap(B, lo + k, b - s + k);
+		s = Math.min(d - c, hi - 1 - d);
+		for (int k = 0; k < s; k++)
+			swap(B, b + k, hi - s + k);
+
+		int lt = lo + (b - a);
+		int gt = hi - 1 - (d - c);
+		return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return median of three for small ranges, Tukey's ninther for large ones
+	 */
+	private static int choosePivot(IntBuffer B, int lo, int hi) {
+		int n = hi - lo;
+		int mid = lo + (n >>> 1);
+
+		if (n <= QuickSort.NINTHER_THRESHOLD)
+			return QuickSort.median(B.get(lo), B.get(mid), B.get(hi - 1));
+
+		int s = n >>> 3;
+		return QuickSort.median(QuickSort.median(B.get(lo), B.get(lo + s), B.get(lo + 2 * s)),
+				QuickSort.median(B.get(mid - s), B.get(mid), B.get(mid + s)),
+				QuickSort.median(B.get(hi - 1 - 2 * s), B.get(hi - 1 - s), B.get(hi - 1)));
+	}
+
+	private static void insertionSort(IntBuffer B, int lo, int hi) {
+		for (int i = lo + 1; i < hi; i++) {
+			int temp = B.get(i);
+			int j = i - 1;
+
+			while (j >= lo && B.get(j) > temp) {
+				B.put(j + 1, B.get(j));
+				j--;
+			}
+			B.put(j + 1, temp);
+		}
+	}
+
+	private static void heapSort(IntBuffer B, int lo, int hi) {
+		int n = hi - lo;
+
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+			siftDown(B, lo, i, n);
+
+		for (int end = n - 1; end > 0; end--) {
+			swap(B, lo, lo + end);
+			siftDown(B, lo, 0, end);
+		}
+	}
+
+	private static void siftDown(IntBuffer B, int lo, int i, int n) {
+		int x = B.get(lo + i);
+
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= n)
+				break;
+			if (child + 1 < n && B.get(lo + child + 1) > B.get(lo + child))
+				child++;
+			int y = B.get(lo + child);
+			if (y <= x)
+				break;
+			B.put(lo + i, y);
+			i = child;
+		}
+		B.put(lo + i, x);
+	}
+
+	private static void swap(IntBuffer B, int i, int j) {
+		int temp = B.get(i);
+		B.put(i, B.get(j));
+		B.put(j, temp);
+	}
+
+}
@@ -0,0 +1,302 @@
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+/**
+ *
+ * In-Place Sorting of java.lang.foreign.MemorySegment Ranges in Java (requires Java 22+)
+ *
+ * Sorts the ints at element indices [offset, offset+length) of a segment, reading and
+ * writing them through the given int layout. Native and mapped segments are sorted where
+ * they live: nothing is copied onto the heap and no per-item objects are created.
+ * Use ValueLayout.JAVA_INT for native byte order, or
+ * ValueLayout.JAVA_INT.withOrder(ByteOrder.BIG_ENDIAN) for big-endian files.
+ * Offsets and lengths are longs, so regions of more than 2^31 items are supported.
+ *
+ * ------------------------------------
+ * [ Algorithms ]
+ *
+ * Sort_Insertion	same as InsertionSort.Sort_InPlace
+ * Sort_Intro		same as QuickSort.Sort_Recursively (introsort)
+ * Sort_Radix		same as RadixSort.Sort_LSD, with a caller-supplied scratch segment and optional histogram
+ *
+ * ------------------------------------
+ *
+ * Order of Time Complexity:
+ *
+ * Sort_Insertion:	O(n) best, O(n^2) worst
+ * Sort_Intro:		O(n log2(n))
+ * Sort_Radix:		O(4 * n)
+ *
+ */
+public class MemorySegmentSort {
+
+	/**
+	 * In-Place Insertion Sort of the items at indices [offset, offset+length)
+	 * @param segment Segment holding the items
+	 * @param layout Layout (byte order) of the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @return the segment
+	 * @throws IndexOutOfBoundsException if the range is outside the segment
+	 */
+	public static MemorySegment Sort_Insertion(MemorySegment segment, ValueLayout.OfInt layout, long offset, long length) {
+		checkRange(segment, offset, length);
+		insertionSort(segment, layout, offset, offset + length);
+		return segment;
+	}
+
+	/**
+	 * In-Place Introsort of the items at indices [offset, offset+length)
+	 * @param segment Segment holding the items
+	 * @param layout Layout (byte order) of the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @return the segment
+	 * @throws IndexOutOfBoundsException if the range is outside the segment
+	 */
+	public static MemorySegment Sort_Intro(MemorySegment segment, ValueLayout.OfInt layout, long offset, long length) {
+		checkRange(segment, offset, length);
+		if (length > 1)
+			introSort(segment, layout, offset, offset + length, 2 * (63 - Long.numberOfLeadingZeros(length)), new long[2]);
+		return segment;
+	}
+
+	/**
+	 * LSD Radix Sort of the items at indices [offset, offset+length).
+	 * The scratch segment should be native too if the sort is to stay off the heap.
+	 * The small histogram array is allocated per call (see the overload taking it too).
+	 * @param segment Segment holding the items
+	 * @param layout Layout (byte order) of the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @param scratch Segment for intermediate passes (may share memory with segment if the ranges are
+	 * 		disjoint); items [scratchOffset, scratchOffset+length) are overwritten
+	 * @param scratchOffset Index of the first scratch item
+	 * @return the segment
+	 * @throws IndexOutOfBoundsException if either range is outside its segment
+	 * @throws IllegalArgumentException if the scratch range overlaps the items to be sorted
+	 */
+	public static MemorySegment Sort_Radix(MemorySegment segment, ValueLayout.OfInt layout, long offset, long length,
+			MemorySegment scratch, long scratchOffset) {
+		return Sort_Radix(segment, layout, offset, length, scratch, scratchOffset, new long[RadixSort.INT_COUNT_LENGTH]);
+	}
+
+	/**
+	 * LSD Radix Sort of the items at indices [offset, offset+length) with a caller-supplied
+	 * histogram; reusing the scratch segment and the histogram across calls makes repeated
+	 * sorts allocate nothing on the heap.
+	 * @param segment Segment holding the items
+	 * @param layout Layout (byte order) of the items
+	 * @param offset Index of the first item
+	 * @param length Number of items
+	 * @param scratch Segment for intermediate passes (may share memory with segment if the ranges are
+	 * 		disjoint); items [scratchOffset, scratchOffset+length) are overwritten
+	 * @param scratchOffset Index of the first scratch item
+	 * @param count Histogram array holding at least RadixSort.INT_COUNT_LENGTH items; its contents are overwritten
+	 * @return the segment
+	 * @throws IndexOutOfBoundsException if either range is outside its segment
+	 * @throws IllegalArgumentException if count is shorter than RadixSort.INT_COUNT_LENGTH, or the scratch
+	 * 		range overlaps the items to be sorted
+	 */
+	public static MemorySegment Sort_Radix(MemorySegment segment, ValueLayout.OfInt layout, long offset, long length,
+			MemorySegment scratch, long scratchOffset, long[] count) {
+		checkRange(segment, offset, length);
+		checkRange(scratch, scratchOffset, length);
+		if (length > 0 && segment.asSlice(offset * Integer.BYTES, length * Integer.BYTES)
+				.asOverlappingSlice(scratch.asSlice(scratchOffset * Integer.BYTES, length * Integer.BYTES)).isPresent())
+			throw new IllegalArgumentException("scratch items at " + scratchOffset + " overlap the items to be sorted");
+		if (count.length < RadixSort.INT_COUNT_LENGTH)
+			throw new IllegalArgumentException("count holds " + count.length + " items, need " + RadixSort.INT_COUNT_LENGTH);
+		if (length < 2)
+			return segment;
+
+		final int passes = 4;
+		Arrays.fill(count, 0, passes * 256, 0L);
+
+		for (long i = offset; i < offset + length; i++) {
+			int x = segment.getAtIndex(layout, i) ^ Integer.MIN_VALUE;	// flip the sign bit
+			for (int p = 0; p < passes; p++)
+				count[(p << 8) + ((x >>> (p << 3)) & 0xFF)]++;
+		}
+
+		MemorySegment src = segment;
+		long srcOffset = offset;
+		MemorySegment dst = scratch;
+		long dstOffset = scratchOffset;
+		boolean inScratch = false;	// scratch may be the same segment, so track the side by passes
+		int first = segment.getAtIndex(layout, offset) ^ Integer.MIN_VALUE;
+
+		for (int p = 0; p < passes; p++) {
+			int shift = p << 3;
+			int base = p << 8;
+
+			// all keys share this digit
+			if (count[base + ((first >>> shift) & 0xFF)] == length)
+				continue;
+
+			long sum = 0;
+			for (int v = base; v < base + 256; v++) {
+				long c = count[v];
+				count[v] = sum;
+				sum += c;
+			}
+
+			for (long i = 0; i < length; i++) {
+				int x = src.getAtIndex(layout, srcOffset + i);
+				dst.setAtIndex(layout, dstOffset + count[base + (((x ^ Integer.MIN_VALUE) >>> shift) & 0xFF)]++, x);
+			}
+
+			MemorySegment ts = src;
+			src = dst;
+			dst = ts;
+			long to = srcOffset;
+			srcOffset = dstOffset;
+			dstOffset = to;
+			inScratch = !inScratch;
+		}
+
+		if (inScratch)
+			MemorySegment.copy(src, layout, srcOffset * Integer.BYTES, segment, layout, offset * Integer.BYTES, length);
+		return segment;
+	}
+
+	/**
+	 * @throws IndexOutOfBoundsException if items [offset, offset+length) are not inside the segment
+	 */
+	private static void checkRange(MemorySegment segment, long offset, long length) {
+		long items = segment.byteSize() / Integer.BYTES;
+		if (offset < 0 || length < 0 || offset > items - length)
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", items " + items);
+	}
+
+	/**
+	 * Introsort of S[lo..hi-1]; see QuickSort.introSort.
+	 * @param bounds Two-slot holder receiving lt and gt from partition()
+	 */
+	private static void introSort(MemorySegment S, ValueLayout.OfInt L, long lo, long hi, int depth, long[] bounds) {
+		while (hi - lo > QuickSort.INSERTION_THRESHOLD) {
+			if (depth == 0) {
+				heapSort(S, L, lo, hi);
+				return;
+			}
+			depth--;
+
+			partition(S, L, lo, hi, choosePivot(S, L, lo, hi), bounds);
+			long lt = bounds[0];
+			long gt = bounds[1];
+
+			if (lt - lo < hi - gt) {
+				introSort(S, L, lo, lt, depth, bounds);
+				lo = gt + 1;
+			}
+			else {
+				introSort(S, L, gt + 1, hi, depth, bounds);
+				hi = lt;
+			}
+		}
+		insertionSort(S, L, lo, hi);
+	}
+
+	/**
+	 * Bentley-McIlroy three-way partition of S[lo..hi-1]; see QuickSort.partition.
+	 * Stores lt in bounds[0] and gt in bounds[1].
+	 */
+	private static void partition(MemorySegment S, ValueLayout.OfInt L, long lo, long hi, int pivot, long[] bounds) {
+		long a = lo, b = lo;
+		long c = hi - 1, d = hi - 1;
+
+		while (true) {
+			int x;
+			while (b <= c && (x = S.getAtIndex(L, b)) <= pivot) {
+				if (x == pivot)
+					swap(S, L, a++, b);
+				b++;
+			}
+			while (c >= b && (x = S.getAtIndex(L, c)) >= pivot) {
+				if (x == pivot)
+					swap(S, L, c, d--);
+				c--;
+			}
+			if (b > c)
+				break;
+			swap(S, L, b++, c--);
+		}
+
+		long s = Math.min(a - lo, b - a);
+		for (long k = 0; k < s; k++)
+			swap(S, L, lo + k, b - s + k);
+		s = Math.min(d - c, hi - 1 - d);
+		for (long k = 0; k < s; k++)
+			swap(S, L, b + k, hi - s + k);
+
+		bounds[0] = lo + (b - a);
+		bounds[1] = hi - 1 - (d - c);
+	}
+
+	/**
+	 * @return median of three for small ranges, Tukey's ninther for large ones
+	 */
+	private static int choosePivot(MemorySegment S, ValueLayout.OfInt L, long lo, long hi) {
+		long n = hi - lo;
+		long mid = lo + (n >>> 1);
+
+		if (n <= QuickSort.NINTHER_THRESHOLD)
+			return QuickSort.median(S.getAtIndex(L, lo), S.getAtIndex(L, mid), S.getAtIndex(L, hi - 1));
+
+		long s = n >>> 3;
+		return QuickSort.median(
+				QuickSort.median(S.getAtIndex(L, lo), S.getAtIndex(L, lo + s), S.getAtIndex(L, lo + 2 * s)),
+				QuickSort.median(S.getAtIndex(L, mid - s), S.getAtIndex(L, mid), S.getAtIndex(L, mid + s)),
+				QuickSort.median(S.getAtIndex(L, hi - 1 - 2 * s), S.getAtIndex(L, hi - 1 - s), S.getAtIndex(L, hi - 1)));
+	}
+
+	private static void insertionSort(MemorySegment S, ValueLayout.OfInt L, long lo, long hi) {
+		for (long i = lo + 1; i < hi; i++) {
+			int temp = S.getAtIndex(L, i);
+			long j = i - 1;
+
+			while (j >= lo && S.getAtIndex(L, j) > temp) {
+				S.setAtIndex(L, j + 1, S.getAtIndex(L, j));
+				j--;
+			}
+			S.setAtIndex(L, j + 1, temp);
+		}
+	}
+
+	private static void heapSort(MemorySegment S, ValueLayout.OfInt L, long lo, long hi) {
+		long n = hi - lo;
+
+		for (long i = (n >>> 1) - 1; i >= 0; i--)
+			siftDown(S, L, lo, i, n);
+
+		for (long end = n - 1; end > 0; end--) {
+			swap(S, L, lo, lo + end);
+			siftDown(S, L, lo, 0, end);
+		}
+	}
+
+	private static void siftDown(MemorySegment S, ValueLayout.OfInt L, long lo, long i, long n) {
+		int x = S.getAtIndex(L, lo + i);
+
+		while (true) {
+			long child = 2 * i + 1;
+			if (child >= n)
+				break;
+			if (child + 1 < n && S.getAtIndex(L, lo + child + 1) > S.getAtIndex(L, lo + child))
+				child++;
+			int y = S.getAtIndex(L, lo + child);
+			if (y <= x)
+				break;
+			S.setAtIndex(L, lo + i, y);
+			i = child;
+		}
+		S.setAtIndex(L, lo + i, x);
+	}
+
+	private static void swap(MemorySegment S, ValueLayout.OfInt L, long i, long j) {
+		int temp = S.getAtIndex(L, i);
+		S.setAtIndex(L, i, S.getAtIndex(L, j));
+		S.setAtIndex(L, j, temp);
+	}
+
+}
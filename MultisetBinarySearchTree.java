@@ -0,0 +1,277 @@
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+import Helpers.EmptyCollectionException;		// RuntimeException Class
+/**
+ * BinarySearchTree storing equal elements in one counted node (multiset).
+ * This class inherits BinarySearchTree<T> class. BinarySearchTree keeps every duplicate
+ * in a node of its own, so k copies make a chain of k nodes and removing all of them
+ * costs O(k * height). Here a node holds its element once with a count of occurrences:
+ * adding a duplicate, count() and removeAllOccurrences() are O(height), and duplicates
+ * never lengthen the tree. Iterators, streams, select() and rank() still see every
+ * occurrence, and size() is the total number of occurrences.
+ * @author Tsuki
+ *
+ */
+public class MultisetBinarySearchTree<T> extends BinarySearchTree<T>
+{
+	/**
+	 * Constructor(1) used to create an empty multiset BST.
+	 */
+	public MultisetBinarySearchTree()
+	{
+		super();
+	}
+
+
+	/**
+	 * Constructor(2) used to create a new multiset BST with the specified element as its root.
+	 * @param element Specified element
+	 */
+	public MultisetBinarySearchTree(T element)
+	{
+		super();
+		root = new CountedBinaryTreeNode<T>(element);
+		numberOfNodes = 1;
+	}
+
+
+	/**
+	 * Adds one occurrence of the element: increments the count of the node holding an
+	 * equal element, or inserts a new node if there is none.
+	 * @param element Specified element
+	 */
+	public void addElement(T element)
+	{
+		if (isEmpty())
+		{
+			root = newNode(element);
+			numberOfNodes++;
+			return;
+		}
+
+		Comparable<T> target = (Comparable<T>) element;
+		BinaryTreeNode<T> current = root;
+
+		while (true)
+		{
+			int cmp = target.compareTo(current.getElement());
+
+			// equal element found: one more occurrence (updates current's size too)
+			if (cmp == 0)
+			{
+				counted(current).setCount(current.getCount() + 1);
+				break;
+			}
+
+			current.adjustSize(1);	// the new occurrence ends up in current's subtree
+
+			// check if node should go into left subtree
+			if (cmp < 0)
+			{
+				if (current.getLeft() == null)
+				{
+					current.setLeft(newNode(element));	// add if space is free
+					break;
+				}
+				else
+					current = current.getLeft();
+			}
+			// node should go into right subtree
+			else
+			{
+				if (current.getRight() == null)
+				{
+					current.setRight(newNode(element));	// add if space is free
+					break;
+				}
+				else
+					current = current.getRight();
+			}
+		}
+		numberOfNodes++;
+	}
+
+
+	/**
+	 * Removes one occurrence of the specified element; the node is unlinked only when its
+	 * last occurrence is removed.
+	 * @param targetElement Specified element
+	 * @return a reference to the element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T removeElement(T targetElement) throws ElementNotFoundException
+	{
+		BinaryTreeNode<T> node = isEmpty() ? null : findAgain(targetElement, root);
+		if (node == null)
+			throw new ElementNotFoundException("Multiset Binary Search Tree");
+
+		if (node.getCount() == 1)
+			return super.removeElement(targetElement);
+
+		removeOccurrence(node);
+		return node.getElement();
+	}
+
+
+	/**
+	 * Removes every occurrence of the specified element by unlinking its node: O(height).
+	 * @param targetElement Specified element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public void removeAllOccurrences(T targetElement) throws ElementNotFoundException
+	{
+		int occurrences = count(targetElement);
+		if (occurrences == 0)
+			throw new ElementNotFoundException("Multiset Binary Search Tree");
+
+		// the ancestors lose the whole count; removeElement() accounts for one occurrence
+		super.removeElement(targetElement);
+		numberOfNodes -= occurrences - 1;
+	}
+
+
+	/**
+	 * @return a reference to the element with the least value in this tree (one occurrence is removed)
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMin() throws EmptyCollectionException
+	{
+		if (isEmpty())
+			throw new EmptyCollectionException("Multiset Binary Search Tree");
+
+		BinaryTreeNode<T> current = root;
+		while (current.getLeft() != null)
+			current = current.getLeft();
+
+		if (current.getCount() == 1)
+			return super.removeMin();
+
+		removeOccurrence(current);
+		return current.getElement();
+	}
+
+
+	/**
+	 * @return a reference to the element with the highest value in this tree (one occurrence is removed)
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMax() throws EmptyCollectionException
+	{
+		if (isEmpty())
+			throw new EmptyCollectionException("Multiset Binary Search Tree");
+
+		BinaryTreeNode<T> current = root;
+		while (current.getRight() != null)
+			current = current.getRight();
+
+		if (current.getCount() == 1)
+			return super.removeMax();
+
+		removeOccurrence(current);
+		return current.getElement();
+	}
+
+
+	/**
+	 * @param element Specified element
+	 * @return number of occurrences of the element in this tree; 0 if it does not exist
+	 */
+	public int count(T element)
+	{
+		if (isEmpty())
+			return 0;
+
+		BinaryTreeNode<T> node = findAgain(element, root);
+		return node == null ? 0 : node.getCount();
+	}
+
+
+	/**
+	 * Equal elements are counted nodes here, so addAllSorted() and addAll() coalesce every
+	 * run of equal elements into one node before building the balanced tree.
+	 * @param sorted Sorted elements
+	 * @param n Number of elements in use
+	 * @return the root of a balanced tree holding sorted[0..n-1]
+	 */
+	protected BinaryTreeNode<T> buildBalanced(Object[] sorted, int n)
+	{
+		Object[] distinct = new Object[n];
+		int[] counts = new int[n];
+		int d = 0;
+
+		for (int i = 0; i < n; i++)
+		{
+			if (d > 0 && ((Comparable<T>) distinct[d - 1]).compareTo((T) sorted[i]) == 0)
+				counts[d - 1]++;
+			else
+			{
+				distinct[d] = sorted[i];
+				counts[d++] = 1;
+			}
+		}
+		return build(distinct, counts, 0, d - 1);
+	}
+
+
+	/**
+	 * Creates a leaf CountedBinaryTreeNode holding one occurrence.
+	 * @param element Specified element
+	 * @return a new leaf node holding the element
+	 */
+	protected BinaryTreeNode<T> newNode(T element)
+	{
+		return new CountedBinaryTreeNode<T>(element);
+	}
+
+
+	/**
+	 * Helper method for buildBalanced().
+	 * The count is set before the children are linked, so the subtree sizes come out right.
+	 * @param distinct Sorted distinct elements
+	 * @param counts Number of occurrences of each element
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (inclusive)
+	 * @return the root of the subtree holding distinct[lo..hi]; null if the range is empty
+	 */
+	private BinaryTreeNode<T> build(Object[] distinct, int[] counts, int lo, int hi)
+	{
+		if (lo > hi)
+			return null;
+
+		int mid = (lo + hi) >>> 1;
+		CountedBinaryTreeNode<T> node = counted(newNode((T) distinct[mid]));
+		node.setCount(counts[mid]);
+		node.setLeft(build(distinct, counts, lo, mid - 1));
+		node.setRight(build(distinct, counts, mid + 1, hi));
+		return node;
+	}
+
+
+	/**
+	 * Removes one occurrence from a node that has more than one: decrements its count and
+	 * the subtree size of every ancestor.
+	 * @param node Node in this tree with a count of at least 2
+	 */
+	private void removeOccurrence(BinaryTreeNode<T> node)
+	{
+		Comparable<T> target = (Comparable<T>) node.getElement();
+		BinaryTreeNode<T> current = root;
+
+		while (current != node)
+		{
+			current.adjustSize(-1);
+			if (target.compareTo(current.getElement()) < 0)
+				current = current.getLeft();
+			else
+				current = current.getRight();
+		}
+		counted(node).setCount(node.getCount() - 1);
+		numberOfNodes--;
+	}
+
+
+	private static <T> CountedBinaryTreeNode<T> counted(BinaryTreeNode<T> node)
+	{
+		return (CountedBinaryTreeNode<T>) node;
+	}
+
+}
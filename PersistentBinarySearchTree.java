@@ -0,0 +1,448 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import Helpers.ElementNotFoundException;		// RuntimeException Class
+import Helpers.EmptyCollectionException;		// RuntimeException Class
+import Helpers.ArrayStack;				// Array Stack Data Structure
+import Helpers.ArrayUnorderedList;			// Unordered ArrayList Data Structure
+/**
+ * Persistent (immutable, path-copying) BinarySearchTree.
+ * Nodes are never modified after they are created. An update copies only the nodes on
+ * the path from the root to the changed position (AVL-balanced, so O(log n) of them)
+ * and shares every other subtree with the previous version, which stays valid.
+ * This object is a handle holding the current root: updates replace it with a CAS, so
+ * concurrent writers never lose an update, and snapshot() hands out an O(1) frozen copy
+ * that readers can search and iterate without any locking. Old versions are reclaimed by
+ * the garbage collector once nothing references them.
+ * @author Tsuki
+ *
+ */
+public class PersistentBinarySearchTree<T>
+{
+	/**
+	 * Root of the current version.
+	 */
+	private final AtomicReference<Node<T>> root;
+
+
+	/**
+	 * Constructor(1) used to create an empty persistent BST.
+	 */
+	public PersistentBinarySearchTree()
+	{
+		this.root = new AtomicReference<Node<T>>(null);
+	}
+
+
+	/**
+	 * Constructor(2) used to create a handle on an existing version.
+	 * @param version Root of the version (shared, not copied)
+	 */
+	private PersistentBinarySearchTree(Node<T> version)
+	{
+		this.root = new AtomicReference<Node<T>>(version);
+	}
+
+
+	/**
+	 * O(1) point-in-time copy of this tree. The snapshot and this tree share all nodes;
+	 * later updates of either one are not visible in the other.
+	 * @return a new tree holding the current version
+	 */
+	public PersistentBinarySearchTree<T> snapshot()
+	{
+		return new PersistentBinarySearchTree<T>(root.get());
+	}
+
+
+	/**
+	 * Inserts the specified element (equal elements are kept, as in BinarySearchTree).
+	 * @param element Specified element
+	 */
+	public void addElement(T element)
+	{
+		Comparable<T> target = (Comparable<T>) element;
+
+		while (true)
+		{
+			Node<T> version = root.get();
+			if (root.compareAndSet(version, insert(version, target, element)))
+				return;
+		}
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return a reference to the first element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T removeElement(T targetElement) throws ElementNotFoundException
+	{
+		Comparable<T> target = (Comparable<T>) targetElement;
+
+		while (true)
+		{
+			Node<T> version = root.get();
+			Node<T> node = findNode(version, target);
+			if (node == null)
+				throw new ElementNotFoundException("Persistent Binary Search Tree");
+
+			if (root.compareAndSet(version, remove(version, target)))
+				return node.element;
+		}
+	}
+
+
+	/**
+	 * @return a reference to the first element with the least value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMin() throws EmptyCollectionException
+	{
+		while (true)
+		{
+			Node<T> version = root.get();
+			if (version == null)
+				throw new EmptyCollectionException("Persistent Binary Search Tree");
+
+			Node<T> min = version;
+			while (min.left != null)
+				min = min.left;
+
+			if (root.compareAndSet(version, removeMinNode(version)))
+				return min.element;
+		}
+	}
+
+
+	/**
+	 * @return a reference to the first element with the highest value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T removeMax() throws EmptyCollectionException
+	{
+		while (true)
+		{
+			Node<T> version = root.get();
+			if (version == null)
+				throw new EmptyCollectionException("Persistent Binary Search Tree");
+
+			Node<T> max = version;
+			while (max.right != null)
+				max = max.right;
+
+			if (root.compareAndSet(version, removeMaxNode(version)))
+				return max.element;
+		}
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return a reference to the first element that matches the specified target element
+	 * @throws ElementNotFoundException if specified element does not exist in this tree
+	 */
+	public T find(T targetElement) throws ElementNotFoundException
+	{
+		Node<T> node = findNode(root.get(), (Comparable<T>) targetElement);
+		if (node == null)
+			throw new ElementNotFoundException("Persistent Binary Search Tree");
+		return node.element;
+	}
+
+
+	/**
+	 * @param targetElement Specified element
+	 * @return true if this tree contains a node with specified element; false otherwise
+	 */
+	public boolean contains(T targetElement)
+	{
+		return findNode(root.get(), (Comparable<T>) targetElement) != null;
+	}
+
+
+	/**
+	 * @return a reference to the first element with the least value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T findMin() throws EmptyCollectionException
+	{
+		Node<T> current = root.get();
+		if (current == null)
+			throw new EmptyCollectionException("Persistent Binary Search Tree");
+
+		while (current.left != null)
+			current = current.left;
+		return current.element;
+	}
+
+
+	/**
+	 * @return a reference to the first element with the highest value in this tree
+	 * @throws EmptyCollectionException if tree is empty
+	 */
+	public T findMax() throws EmptyCollectionException
+	{
+		Node<T> current = root.get();
+		if (current == null)
+			throw new EmptyCollectionException("Persistent Binary Search Tree");
+
+		while (current.right != null)
+			current = current.right;
+		return current.element;
+	}
+
+
+	/**
+	 * @return number of elements in this tree (O(1), stored in the root)
+	 */
+	public int size()
+	{
+		return size(root.get());
+	}
+
+
+	/**
+	 * @return true if this tree is empty; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return root.get() == null;
+	}
+
+
+	/**
+	 * @return the height of this tree (O(1), stored in the root); -1 if empty
+	 */
+	public int height()
+	{
+		return height(root.get());
+	}
+
+
+	/**
+	 * Lazy in-order iterator over the version current at the time of this call; updates
+	 * made afterwards do not affect it.
+	 * @return an in-order iterator over this tree
+	 */
+	public Iterator<T> iteratorInOrder()
+	{
+		return new InOrderIterator(root.get());
+	}
+
+
+	/**
+	 * @return In-order String representation of this tree (same format as BinaryTree)
+	 */
+	public String toString()
+	{
+		ArrayUnorderedList<T> list = new ArrayUnorderedList<T>();
+		Iterator<T> iterator = iteratorInOrder();
+
+		while (iterator.hasNext())
+			list.addToRear(iterator.next());
+		return list.toString();
+	}
+
+
+	/**
+	 * @param node Root of the version to search
+	 * @param target Specified element
+	 * @return the first node on the search path that matches the target; null if none
+	 */
+	private static <T> Node<T> findNode(Node<T> node, Comparable<T> target)
+	{
+		while (node != null)
+		{
+			int cmp = target.compareTo(node.element);
+
+			if (cmp == 0)
+				return node;
+			node = cmp < 0 ? node.left : node.right;
+		}
+		return null;
+	}
+
+
+	/**
+	 * @param node Root of the current subtree (may be null)
+	 * @param target Element of the new node
+	 * @param element Element to be inserted
+	 * @return the root of a new subtree holding the element; only the path is copied
+	 */
+	private static <T> Node<T> insert(Node<T> node, Comparable<T> target, T element)
+	{
+		if (node == null)
+			return new Node<T>(element, null, null);
+
+		// equal elements go into the right subtree, as in BinarySearchTree
+		if (target.compareTo(node.element) < 0)
+			return balance(node.element, insert(node.left, target, element), node.right);
+		return balance(node.element, node.left, insert(node.right, target, element));
+	}
+
+
+	/**
+	 * @param node Root of the current subtree (the target is known to be in it)
+	 * @param target Element to be removed
+	 * @return the root of a new subtree without the first node that matches the target
+	 */
+	private static <T> Node<T> remove(Node<T> node, Comparable<T> target)
+	{
+		int cmp = target.compareTo(node.element);
+
+		if (cmp < 0)
+			return balance(node.element, remove(node.left, target), node.right);
+		if (cmp > 0)
+			return balance(node.element, node.left, remove(node.right, target));
+
+		// node has at most one child
+		if (node.left == null)
+			return node.right;
+		if (node.right == null)
+			return node.left;
+
+		// node has both children
+		// -> Replace it with the smallest element in its right subtree (in-order successor)
+		Node<T> successor = node.right;
+		while (successor.left != null)
+			successor = successor.left;
+		return balance(successor.element, node.left, removeMinNode(node.right));
+	}
+
+
+	/**
+	 * @param node Root of the current subtree (not null)
+	 * @return the root of a new subtree without its smallest node
+	 */
+	private static <T> Node<T> removeMinNode(Node<T> node)
+	{
+		if (node.left == null)
+			return node.right;
+		return balance(node.element, removeMinNode(node.left), node.right);
+	}
+
+
+	/**
+	 * @param node Root of the current subtree (not null)
+	 * @return the root of a new subtree without its greatest node
+	 */
+	private static <T> Node<T> removeMaxNode(Node<T> node)
+	{
+		if (node.right == null)
+			return node.left;
+		return balance(node.element, node.left, removeMaxNode(node.right));
+	}
+
+
+	/**
+	 * Creates the node (element, left, right), rotating once or twice if the heights of
+	 * the two subtrees differ by two (the AVL rebalancing cases).
+	 * @return the root of the new, balanced subtree
+	 */
+	private static <T> Node<T> balance(T element, Node<T> left, Node<T> right)
+	{
+		int hl = height(left);
+		int hr = height(right);
+
+		// left subtree is too high
+		if (hl > hr + 1)
+		{
+			if (height(left.left) >= height(left.right))
+				return new Node<T>(left.element, left.left, new Node<T>(element, left.right, right));
+
+			Node<T> pivot = left.right;	// left-right case
+			return new Node<T>(pivot.element,
+					new Node<T>(left.element, left.left, pivot.left),
+					new Node<T>(element, pivot.right, right));
+		}
+		// right subtree is too high
+		if (hr > hl + 1)
+		{
+			if (height(right.right) >= height(right.left))
+				return new Node<T>(right.element, new Node<T>(element, left, right.left), right.right);
+
+			Node<T> pivot = right.left;	// right-left case
+			return new Node<T>(pivot.element,
+					new Node<T>(element, left, pivot.left),
+					new Node<T>(right.element, pivot.right, right.right));
+		}
+		return new Node<T>(element, left, right);
+	}
+
+
+	private static int height(Node<?> node)
+	{
+		return node == null ? -1 : node.height;
+	}
+
+
+	private static int size(Node<?> node)
+	{
+		return node == null ? 0 : node.size;
+	}
+
+
+	/**
+	 * Immutable node; height and size of its subtree are fixed at construction.
+	 * All fields are final, so a version is safely visible to any thread that reads its root.
+	 */
+	private static final class Node<T>
+	{
+		final T element;
+		final Node<T> left;
+		final Node<T> right;
+		final int height;
+		final int size;
+
+		Node(T element, Node<T> left, Node<T> right)
+		{
+			this.element = element;
+			this.left = left;
+			this.right = right;
+			this.height = 1 + Math.max(PersistentBinarySearchTree.height(left), PersistentBinarySearchTree.height(right));
+			this.size = 1 + PersistentBinarySearchTree.size(left) + PersistentBinarySearchTree.size(right);
+		}
+	}
+
+
+	/**
+	 * Lazy in-order iterator over one version.
+	 * The stack holds the left spine of the subtree still to be visited; the top is next.
+	 */
+	private class InOrderIterator implements Iterator<T>
+	{
+		private final ArrayStack<Node<T>> stack = new ArrayStack<Node<T>>();
+
+		InOrderIterator(Node<T> start)
+		{
+			pushLeftSpine(start);
+		}
+
+		public boolean hasNext()
+		{
+			return !stack.isEmpty();
+		}
+
+		public T next()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			Node<T> node = stack.pop();
+			pushLeftSpine(node.right);
+			return node.element;
+		}
+
+		private void pushLeftSpine(Node<T> node)
+		{
+			while (node != null)
+			{
+				stack.push(node);
+				node = node.left;
+			}
+		}
+	}
+
+}
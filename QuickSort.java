@@ -1,79 +1,353 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 /**
- * 
+ *
  * Quick Sort Algorithm Demonstration in Java
  *
  * ------------------------------------
- * [ Recursive Algorithm ]
+ * [ In-Place Introsort Algorithm ]
  *
  * Algorithm QuickSort(A, n)
  * In: Array A with n values
  * Out: {sort A in increasing order}
- * 
- * if n > 1 then {
- *   
- *   smaller, equal, larger = new array of size n
- *   n_smaller, n_equal, n_larger = 0
- *   pivot = A[0]
- *   
- *   for i=0 to n-1 do {
- *     if A[i] == pivot then equal[n_equal++] = A[i]
- *     else if A[i] < pivot then smaller[n_smaller++] = A[i]
- *     else larger[n_l++] = A[i]
+ *
+ * introSort(A, 0, n, 2 * log2(n))
+ *
+ * Algorithm introSort(A, lo, hi, depth)
+ *
+ * while hi - lo > INSERTION_THRESHOLD do {
+ *
+ *   if depth == 0 then {
+ *     heapSort(A, lo, hi)
+ *     return
+ *   }
+ *   depth = depth - 1
+ *
+ *   pivot = median of three (or ninther for large ranges) of A[lo..hi-1]
+ *
+ *   {partition A[lo..hi-1] in place into three bands (Bentley-McIlroy)}
+ *   A[lo..lt-1] < pivot, A[lt..gt] == pivot, A[gt+1..hi-1] > pivot
+ *
+ *   {recurse into the smaller band, loop on the larger one}
+ *   if lt - lo < hi - gt then {
+ *     introSort(A, lo, lt, depth)
+ *     lo = gt + 1
+ *   }
+ *   else {
+ *     introSort(A, gt + 1, hi, depth)
+ *     hi = lt
+ *   }
+ * }
+ * insertionSort(A, lo, hi)
+ *
+ * ------------------------------------
+ * [ Parallel Fork/Join Algorithm ]
+ *
+ * Algorithm ParallelQuickSort(A, lo, hi, depth)
+ *
+ * if hi - lo <= cutoff or depth == 0 then
+ *   introSort(A, lo, hi, depth)
+ * else {
+ *   partition A[lo..hi-1] around pivot into lt, gt (as above)
+ *   in parallel do {
+ *     ParallelQuickSort(A, lo, lt, depth - 1)
+ *     ParallelQuickSort(A, gt + 1, hi, depth - 1)
  *   }
- *   
- *   quickSort(smaller, n_smaller)
- *   quickSort(larger, n_larger)
- *   
- *   i=0
- *   for j=0 to n_smaller do A[i++] = smaller[j]
- *   for j=0 to n_equal do A[i++] = equal[j]
- *   for j=0 to n_larger do A[i++] = larger[j]
- *   
  * }
  *
  * ------------------------------------
  * Order of Time Complexity:
  *
- * Best:	O(n log2(n))
- * Worst:	O(n^2)
+ * Best:	O(n)		(all keys equal)
+ * Worst:	O(n log2(n))	(heapsort fallback)
  * Average:	O(n log2(n))
  *
+ * Extra Space:	O(log2(n))	(recursion only ever enters the smaller band)
+ *
  */
 public class QuickSort {
 
-	// Note: Below is only an implementation of a specific algorithm (above). It is NOT recommended to use the code.
-	//	 This is only uploaded for demonstration purpose for above algorithm; the algorithm itself isn't efficient.
-  
-	/* Recursive Algorithm for Quick Sort
+	/**
+	 * Ranges of at most this many items are finished with insertion sort.
+	 */
+	static final int INSERTION_THRESHOLD = 16;
+	/**
+	 * Ranges larger than this pick their pivot with Tukey's ninther instead of a median of three.
+	 */
+	static final int NINTHER_THRESHOLD = 128;
+	/**
+	 * Default size below which a parallel sort task stops forking and sorts sequentially.
+	 */
+	public static final int PARALLEL_CUTOFF = 1 << 13;
+
+	/**
+	 * In-Place Introsort Algorithm for Quick Sort
 	 * @param A Unordered Array
 	 * @param n Number of items
 	 * @return Sorted Array
 	 */
 	public static int[] Sort_Recursively(int[] A, int n) {
-		if (n > 1) {
-			int[] smaller, equal, larger;
-			smaller = new int[n];
-			equal = new int[n];
-			larger = new int[n];
-			int n_smaller, n_equal, n_larger;
-			n_smaller = n_equal = n_larger = 0;
-			int pivot = A[0];
-			
-			for (int i = 0; i < n; i++) {
-				if (A[i] == pivot) equal[n_equal++] = A[i];
-				else if (A[i] < pivot) smaller[n_smaller++] = A[i];
-				else larger[n_l++] = A[i];
+		if (n > 1)
+			introSort(A, 0, n, depthLimit(n));
+		return A;
+	}
+
+	/**
+	 * Parallel Fork/Join Algorithm for Quick Sort (common pool, default cutoff)
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @return Sorted Array
+	 */
+	public static int[] Sort_Parallel(int[] A, int n) {
+		return Sort_Parallel(A, n, ForkJoinPool.commonPool(), PARALLEL_CUTOFF);
+	}
+
+	/**
+	 * Parallel Fork/Join Algorithm for Quick Sort.
+	 * The result is identical to Sort_Recursively(A, n).
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param pool Pool the sort tasks run on (bounds the parallelism)
+	 * @param cutoff Ranges of at most this many items are sorted sequentially
+	 * @return Sorted Array
+	 * @throws IllegalArgumentException if cutoff is less than 1
+	 */
+	public static int[] Sort_Parallel(int[] A, int n, ForkJoinPool pool, int cutoff) {
+		if (cutoff < 1)
+			throw new IllegalArgumentException("cutoff must be at least 1: " + cutoff);
+
+		if (n > cutoff)
+			pool.invoke(new SortTask(A, 0, n, depthLimit(n), cutoff));
+		else if (n > 1)
+			introSort(A, 0, n, depthLimit(n));
+		return A;
+	}
+
+	/**
+	 * @param n Number of items
+	 * @return the recursion depth after which a range falls back to heapsort
+	 */
+	static int depthLimit(int n) {
+		return 2 * (31 - Integer.numberOfLeadingZeros(n));
+	}
+
+	/**
+	 * Sorts A[lo..hi-1] in increasing order.
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 * @param depth Remaining partitioning depth before heapsort takes over
+	 */
+	static void introSort(int[] A, int lo, int hi, int depth) {
+		while (hi - lo > INSERTION_THRESHOLD) {
+			if (depth == 0) {
+				heapSort(A, lo, hi);
+				return;
+			}
+			depth--;
+
+			long bounds = partition(A, lo, hi, choosePivot(A, lo, hi));
+			int lt = (int) (bounds >>> 32);
+			int gt = (int) bounds;
+
+			// recurse into the smaller band so the stack stays O(log n)
+			if (lt - lo < hi - gt) {
+				introSort(A, lo, lt, depth);
+				lo = gt + 1;
+			}
+			else {
+				introSort(A, gt + 1, hi, depth);
+				hi = lt;
 			}
-			
-			quickSort(smaller, n_smaller);
-			quickSort(larger, n_larger);
-			
-			int i = 0;
-			for (int j = 0; j < n_smaller; j++) A[i++] = smaller[j];
-			for (int j = 0; j < n_equal; j++) A[i++] = equal[j];
-			for (int j = 0; j < n_larger; j++) A[i++] = larger[j];	
 		}
-		return A;
+		insertionSort(A, lo, hi);
+	}
+
+	/**
+	 * Bentley-McIlroy three-way partition of A[lo..hi-1] around the pivot.
+	 * Keys equal to the pivot are parked at both ends while scanning and swapped
+	 * into the middle at the end, so distinct keys cost no more than a two-way partition.
+	 * Afterwards A[lo..lt-1] < pivot, A[lt..gt] == pivot and A[gt+1..hi-1] > pivot.
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 * @param pivot Pivot value (must occur in the range)
+	 * @return lt in the upper 32 bits and gt in the lower 32 bits
+	 */
+	static long partition(int[] A, int lo, int hi, int pivot) {
+		int a = lo, b = lo;
+		int c = hi - 1, d = hi - 1;
+
+		while (true) {
+			while (b <= c && A[b] <= pivot) {
+				if (A[b] == pivot)
+					swap(A, a++, b);
+				b++;
+			}
+			while (c >= b && A[c] >= pivot) {
+				if (A[c] == pivot)
+					swap(A, c, d--);
+				c--;
+			}
+			if (b > c)
+				break;
+			swap(A, b++, c--);
+		}
+
+		// move the parked equal keys from both ends into the middle
+		int s = Math.min(a - lo, b - a);
+		swapRange(A, lo, b - s, s);
+		s = Math.min(d - c, hi - 1 - d);
+		swapRange(A, b, hi - s, s);
+
+		int lt = lo + (b - a);
+		int gt = hi - 1 - (d - c);
+		return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Swaps A[i] and A[j].
+	 */
+	static void swap(int[] A, int i, int j) {
+		int temp = A[i];
+		A[i] = A[j];
+		A[j] = temp;
+	}
+
+	/**
+	 * Swaps the n items starting at A[i] with the n items starting at A[j].
+	 */
+	private static void swapRange(int[] A, int i, int j, int n) {
+		for (int k = 0; k < n; k++)
+			swap(A, i + k, j + k);
+	}
+
+	/**
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 * @return median of three for small ranges, Tukey's ninther for large ones
+	 */
+	static int choosePivot(int[] A, int lo, int hi) {
+		int n = hi - lo;
+		int mid = lo + (n >>> 1);
+
+		if (n <= NINTHER_THRESHOLD)
+			return median(A[lo], A[mid], A[hi - 1]);
+
+		int s = n >>> 3;
+		return median(median(A[lo], A[lo + s], A[lo + 2 * s]),
+				median(A[mid - s], A[mid], A[mid + s]),
+				median(A[hi - 1 - 2 * s], A[hi - 1 - s], A[hi - 1]));
+	}
+
+	/**
+	 * @return the median of the three given values
+	 */
+	static int median(int a, int b, int c) {
+		if (a < b) {
+			if (b < c) return b;
+			return a < c ? c : a;
+		}
+		if (a < c) return a;
+		return b < c ? c : b;
+	}
+
+	/**
+	 * Insertion sort of A[lo..hi-1]; used to finish off small ranges.
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 */
+	static void insertionSort(int[] A, int lo, int hi) {
+		for (int i = lo + 1; i < hi; i++) {
+			int temp = A[i];
+			int j = i - 1;
+
+			while (j >= lo && A[j] > temp) {
+				A[j + 1] = A[j];
+				j--;
+			}
+			A[j + 1] = temp;
+		}
+	}
+
+	/**
+	 * Heap sort of A[lo..hi-1]; used when partitioning degrades past the depth limit.
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 */
+	static void heapSort(int[] A, int lo, int hi) {
+		int n = hi - lo;
+
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+			siftDown(A, lo, i, n);
+
+		for (int end = n - 1; end > 0; end--) {
+			int temp = A[lo];
+			A[lo] = A[lo + end];
+			A[lo + end] = temp;
+			siftDown(A, lo, 0, end);
+		}
+	}
+
+	/**
+	 * Restores the max-heap property below heap index i of the heap stored at A[lo..lo+n-1].
+	 */
+	private static void siftDown(int[] A, int lo, int i, int n) {
+		int x = A[lo + i];
+
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= n)
+				break;
+			if (child + 1 < n && A[lo + child + 1] > A[lo + child])
+				child++;
+			if (A[lo + child] <= x)
+				break;
+			A[lo + i] = A[lo + child];
+			i = child;
+		}
+		A[lo + i] = x;
+	}
+
+	/**
+	 * Fork/join task sorting A[lo..hi-1]; both partition bands become subtasks
+	 * until they shrink below the cutoff.
+	 */
+	static final class SortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] A;
+		private final int lo;
+		private final int hi;
+		private final int depth;
+		private final int cutoff;
+
+		SortTask(int[] A, int lo, int hi, int depth, int cutoff) {
+			this.A = A;
+			this.lo = lo;
+			this.hi = hi;
+			this.depth = depth;
+			this.cutoff = cutoff;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo <= cutoff || depth == 0) {
+				introSort(A, lo, hi, depth);
+				return;
+			}
+
+			long bounds = partition(A, lo, hi, choosePivot(A, lo, hi));
+			int lt = (int) (bounds >>> 32);
+			int gt = (int) bounds;
+
+			invokeAll(new SortTask(A, lo, lt, depth - 1, cutoff),
+					new SortTask(A, gt + 1, hi, depth - 1, cutoff));
+		}
 	}
 
 }
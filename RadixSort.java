@@ -0,0 +1,245 @@
+import java.util.Arrays;
+/**
+ *
+ * LSD Radix Sort Algorithm Demonstration in Java
+ *
+ * ------------------------------------
+ * [ Least-Significant-Digit Algorithm ]
+ *
+ * Algorithm RadixSort(A, n)
+ * In: Array A storing n keys of d bytes each, scratch array B of size n
+ * Out: {Sort A in increasing order}
+ *
+ * {one pass over A counts the occurrences of every byte value in every digit position}
+ * for i=0 to n-1 do
+ *   for p=0 to d-1 do
+ *     count[p][digit(A[i], p)]++
+ *
+ * for p=0 to d-1 do {
+ *   if count[p][digit(A[0], p)] == n then
+ *     skip p      {every key has the same digit, the pass would not move anything}
+ *
+ *   {turn counts into starting offsets}
+ *   sum = 0
+ *   for v=0 to 255 do {
+ *     c = count[p][v]
+ *     count[p][v] = sum
+ *     sum = sum + c
+ *   }
+ *
+ *   {stable scatter into the other array}
+ *   for i=0 to n-1 do
+ *     B[count[p][digit(A[i], p)]++] = A[i]
+ *   swap A and B
+ * }
+ * if the result ended up in B then copy it back to A
+ *
+ * digit(x, p) is byte p of x; the sign bit of the most significant byte is flipped
+ * so that negative keys order before positive ones.
+ *
+ * ------------------------------------
+ *
+ * Order of Time Complexity:
+ *
+ * Always:	O(d * n)	(d = 4 for int keys, 8 for long keys)
+ *
+ * Extra Space:	O(n)		(scratch array, can be supplied by the caller)
+ *		+ O(256 * d)	(histograms, can be supplied by the caller)
+ *
+ */
+public class RadixSort {
+
+	/**
+	 * Bits per digit.
+	 */
+	private static final int RADIX_BITS = 8;
+	/**
+	 * Number of distinct digit values.
+	 */
+	private static final int RADIX = 1 << RADIX_BITS;
+	/**
+	 * Mask extracting one digit.
+	 */
+	private static final int MASK = RADIX - 1;
+	/**
+	 * Minimum length of a caller-supplied histogram array for int keys.
+	 */
+	public static final int INT_COUNT_LENGTH = (Integer.SIZE / RADIX_BITS) * RADIX;
+	/**
+	 * Minimum length of a caller-supplied histogram array for long keys.
+	 */
+	public static final int LONG_COUNT_LENGTH = (Long.SIZE / RADIX_BITS) * RADIX;
+
+	/**
+	 * LSD Radix Sort for int keys (allocates its own scratch array)
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @return Sorted Array
+	 */
+	public static int[] Sort_LSD(int[] A, int n) {
+		return Sort_LSD(A, n, new int[n]);
+	}
+
+	/**
+	 * LSD Radix Sort for int keys.
+	 * Reusing the same scratch array across calls keeps repeated sorts free of O(n) allocations;
+	 * the small histogram array is still allocated per call (see the overload taking it too).
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param buffer Scratch array holding at least n items; its contents are overwritten
+	 * @return Sorted Array
+	 * @throws IllegalArgumentException if buffer is shorter than n
+	 */
+	public static int[] Sort_LSD(int[] A, int n, int[] buffer) {
+		return Sort_LSD(A, n, buffer, new int[INT_COUNT_LENGTH]);
+	}
+
+	/**
+	 * LSD Radix Sort for int keys.
+	 * Reusing the same scratch and histogram arrays across calls makes repeated sorts allocate nothing.
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param buffer Scratch array holding at least n items; its contents are overwritten
+	 * @param count Histogram array holding at least INT_COUNT_LENGTH items; its contents are overwritten
+	 * @return Sorted Array
+	 * @throws IllegalArgumentException if buffer is shorter than n or count is shorter than INT_COUNT_LENGTH
+	 */
+	public static int[] Sort_LSD(int[] A, int n, int[] buffer, int[] count) {
+		if (buffer.length < n)
+			throw new IllegalArgumentException("buffer holds " + buffer.length + " items, need " + n);
+		if (count.length < INT_COUNT_LENGTH)
+			throw new IllegalArgumentException("count holds " + count.length + " items, need " + INT_COUNT_LENGTH);
+		if (n < 2)
+			return A;
+
+		final int passes = Integer.SIZE / RADIX_BITS;
+		Arrays.fill(count, 0, passes * RADIX, 0);
+
+		// one pass builds the histograms for all digit positions
+		for (int i = 0; i < n; i++) {
+			int x = A[i] ^ Integer.MIN_VALUE;	// flip the sign bit
+			for (int p = 0; p < passes; p++)
+				count[p * RADIX + ((x >>> (p * RADIX_BITS)) & MASK)]++;
+		}
+
+		int[] src = A;
+		int[] dst = buffer;
+		int first = A[0] ^ Integer.MIN_VALUE;
+
+		for (int p = 0; p < passes; p++) {
+			int shift = p * RADIX_BITS;
+			int offset = p * RADIX;
+
+			// all keys share this digit
+			if (count[offset + ((first >>> shift) & MASK)] == n)
+				continue;
+
+			int sum = 0;
+			for (int v = offset; v < offset + RADIX; v++) {
+				int c = count[v];
+				count[v] = sum;
+				sum += c;
+			}
+
+			for (int i = 0; i < n; i++) {
+				int x = src[i];
+				dst[count[offset + (((x ^ Integer.MIN_VALUE) >>> shift) & MASK)]++] = x;
+			}
+
+			int[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+
+		if (src != A)
+			System.arraycopy(src, 0, A, 0, n);
+		return A;
+	}
+
+	/**
+	 * LSD Radix Sort for long keys (allocates its own scratch array)
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @return Sorted Array
+	 */
+	public static long[] Sort_LSD(long[] A, int n) {
+		return Sort_LSD(A, n, new long[n]);
+	}
+
+	/**
+	 * LSD Radix Sort for long keys.
+	 * Reusing the same scratch array across calls keeps repeated sorts free of O(n) allocations;
+	 * the small histogram array is still allocated per call (see the overload taking it too).
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param buffer Scratch array holding at least n items; its contents are overwritten
+	 * @return Sorted Array
+	 * @throws IllegalArgumentException if buffer is shorter than n
+	 */
+	public static long[] Sort_LSD(long[] A, int n, long[] buffer) {
+		return Sort_LSD(A, n, buffer, new int[LONG_COUNT_LENGTH]);
+	}
+
+	/**
+	 * LSD Radix Sort for long keys.
+	 * Reusing the same scratch and histogram arrays across calls makes repeated sorts allocate nothing.
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param buffer Scratch array holding at least n items; its contents are overwritten
+	 * @param count Histogram array holding at least LONG_COUNT_LENGTH items; its contents are overwritten
+	 * @return Sorted Array
+	 * @throws IllegalArgumentException if buffer is shorter than n or count is shorter than LONG_COUNT_LENGTH
+	 */
+	public static long[] Sort_LSD(long[] A, int n, long[] buffer, int[] count) {
+		if (buffer.length < n)
+			throw new IllegalArgumentException("buffer holds " + buffer.length + " items, need " + n);
+		if (count.length < LONG_COUNT_LENGTH)
+			throw new IllegalArgumentException("count holds " + count.length + " items, need " + LONG_COUNT_LENGTH);
+		if (n < 2)
+			return A;
+
+		final int passes = Long.SIZE / RADIX_BITS;
+		Arrays.fill(count, 0, passes * RADIX, 0);
+
+		// one pass builds the histograms for all digit positions
+		for (int i = 0; i < n; i++) {
+			long x = A[i] ^ Long.MIN_VALUE;	// flip the sign bit
+			for (int p = 0; p < passes; p++)
+				count[p * RADIX + (int) ((x >>> (p * RADIX_BITS)) & MASK)]++;
+		}
+
+		long[] src = A;
+		long[] dst = buffer;
+		long first = A[0] ^ Long.MIN_VALUE;
+
+		for (int p = 0; p < passes; p++) {
+			int shift = p * RADIX_BITS;
+			int offset = p * RADIX;
+
+			// all keys share this digit
+			if (count[offset + (int) ((first >>> shift) & MASK)] == n)
+				continue;
+
+			int sum = 0;
+			for (int v = offset; v < offset + RADIX; v++) {
+				int c = count[v];
+				count[v] = sum;
+				sum += c;
+			}
+
+			for (int i = 0; i < n; i++) {
+				long x = src[i];
+				dst[count[offset + (int) (((x ^ Long.MIN_VALUE) >>> shift) & MASK)]++] = x;
+			}
+
+			long[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+
+		if (src != A)
+			System.arraycopy(src, 0, A, 0, n);
+		return A;
+	}
+
+}
@@ -1,4 +1,5 @@
 import Helpers.LinkedQueue; // LinkedQueue Data Structure
+import Helpers.ArrayUnorderedList; // Unordered ArrayList Data Structure
 /**
  * 
  * Selection Sort Algorithms Demonstration in Java
@@ -51,10 +52,44 @@ import Helpers.LinkedQueue; // LinkedQueue Data Structure
  * }
  *   
  * ------------------------------------
+ * [ Quickselect Algorithm ]
+ *
+ * Algorithm Select(A, n, k)
+ * In: Array A storing n values, rank k (0 = smallest)
+ * Out: {the k-th smallest value, with A partially reordered around it}
+ *
+ * lo = 0, hi = n
+ * while hi - lo > 1 do {
+ *   pivot = median of three of A[lo..hi-1]
+ *           (median of medians of groups of 5 once the range stops shrinking fast enough)
+ *   partition A[lo..hi-1] into < pivot, == pivot, > pivot   {see QuickSort}
+ *   if k is in the < band then hi = start of the == band
+ *   else if k is in the == band then return pivot
+ *   else lo = end of the == band + 1
+ * }
+ * return A[k]
+ *
+ * ------------------------------------
+ * [ Bounded Heap Top-K Algorithm ]
+ *
+ * Algorithm TopK(A, n, k)
+ * In: Array A storing n values
+ * Out: {the k largest values of A, largest first}
+ *
+ * heap = empty min-heap
+ * for i=0 to n-1 do {
+ *   if heap.size() < k then heap.add(A[i])
+ *   else if A[i] > heap.min() then heap.replaceMin(A[i])
+ * }
+ * return heap sorted in decreasing order
+ *
+ * ------------------------------------
  * 
  * Order of Time Complexity:
  *
- * Always:	O(n^2)
+ * Sorting:	O(n^2)
+ * Select:	O(n)		(worst case O(n) through the median of medians fallback)
+ * TopK:	O(n log2(k))
  *
  */
 public class SelectionSort {
@@ -101,7 +136,7 @@ public class SelectionSort {
 	//	 This is only uploaded for demonstration purpose for above algorithm; the algorithm itself isn't efficient.
   
  	/**
-	 * In-Place Algorithm for Insertion Sort
+	 * In-Place Algorithm for Selection Sort
 	 * @param A Unordered Array
 	 * @param n Number of items
 	 * @return Sorted Array
@@ -124,4 +159,102 @@ public class SelectionSort {
 		return A;
 	}
   
+	/**
+	 * Quickselect Algorithm (introselect) for the k-th smallest item.
+	 * A is reordered so that A[k] holds the result, items before it are no larger
+	 * and items after it are no smaller.
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param k Rank of the requested item (0 = smallest, n-1 = largest)
+	 * @return the k-th smallest item
+	 * @throws IndexOutOfBoundsException if k is not in [0, n)
+	 */
+	public static int select(int[] A, int n, int k) {
+		if (k < 0 || k >= n)
+			throw new IndexOutOfBoundsException("k " + k + ", n " + n);
+		
+		return select(A, 0, n, k);
+	}
+	
+	/**
+	 * Quickselect on A[lo..hi-1].
+	 * Falls back to median of medians pivots whenever a partition round keeps more
+	 * than half of the range, which caps the total work at O(n).
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 * @param k Absolute index of the requested rank, lo <= k < hi
+	 * @return the value that belongs at A[k] in sorted order
+	 */
+	static int select(int[] A, int lo, int hi, int k) {
+		boolean guaranteed = false;
+		
+		while (hi - lo > QuickSort.INSERTION_THRESHOLD) {
+			int n = hi - lo;
+			int pivot = guaranteed ? medianOfMedians(A, lo, hi) : QuickSort.choosePivot(A, lo, hi);
+			
+			long bounds = QuickSort.partition(A, lo, hi, pivot);
+			int lt = (int) (bounds >>> 32);
+			int gt = (int) bounds;
+			
+			if (k < lt)
+				hi = lt;
+			else if (k > gt)
+				lo = gt + 1;
+			else
+				return pivot;
+			
+			// switch to guaranteed pivots once the sampled ones stop halving the range
+			guaranteed = hi - lo > n / 2;
+		}
+		QuickSort.insertionSort(A, lo, hi);
+		return A[k];
+	}
+	
+	/**
+	 * Median of medians of groups of five; the medians are gathered at the front of the range.
+	 * @param A Array
+	 * @param lo First index (inclusive)
+	 * @param hi Last index (exclusive)
+	 * @return a pivot with at least 3/10 of the range on either side of it
+	 */
+	private static int medianOfMedians(int[] A, int lo, int hi) {
+		int medians = lo;
+		
+		for (int i = lo; i < hi; i += 5) {
+			int end = Math.min(i + 5, hi);
+			QuickSort.insertionSort(A, i, end);
+			QuickSort.swap(A, medians++, i + ((end - i) >>> 1));
+		}
+		return select(A, lo, medians, lo + ((medians - lo) >>> 1));
+	}
+	
+	/**
+	 * Bounded Heap Algorithm for the k largest items; A is left unchanged.
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param k Number of items requested
+	 * @return the min(k, n) largest items, largest first
+	 * @throws IllegalArgumentException if k is negative
+	 */
+	public static int[] topK(int[] A, int n, int k) {
+		TopKAccumulator acc = new TopKAccumulator(Math.min(k, n), true);
+		acc.addAll(A, 0, n);
+		return acc.toArray();
+	}
+	
+	/**
+	 * Bounded Heap Algorithm for the k smallest items; A is left unchanged.
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @param k Number of items requested
+	 * @return the min(k, n) smallest items, smallest first
+	 * @throws IllegalArgumentException if k is negative
+	 */
+	public static int[] bottomK(int[] A, int n, int k) {
+		TopKAccumulator acc = new TopKAccumulator(Math.min(k, n), false);
+		acc.addAll(A, 0, n);
+		return acc.toArray();
+	}
+  
 }
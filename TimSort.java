@@ -0,0 +1,589 @@
+/**
+ *
+ * Adaptive (TimSort-style) Hybrid Sort Algorithm in Java
+ *
+ * ------------------------------------
+ * [ Run-Merging Algorithm ]
+ *
+ * Algorithm TimSort(A, n)
+ * In: Array A storing n values
+ * Out: {Sort A in increasing order}
+ *
+ * minRun = a value in [16, 32] such that n / minRun is close to a power of two
+ * runs = empty stack
+ *
+ * lo = 0
+ * while lo < n do {
+ *   len = length of the natural run starting at A[lo]
+ *   if the run is strictly descending then reverse it in place
+ *   if len < minRun then {
+ *     {extend the run with binary insertion sort}
+ *     len = min(minRun, n - lo)
+ *     InsertionSort.Sort_BinaryInPlace(A, lo, lo + len, lo + run length)
+ *   }
+ *   runs.push(lo, len)
+ *   while the top three runs X, Y, Z violate |Z| > |Y| + |X| or |Y| > |X| do
+ *     merge Y with the smaller of X and Z
+ *   lo = lo + len
+ * }
+ * merge all remaining runs from the top of the stack down
+ *
+ * [ Merging Two Adjacent Runs ]
+ *
+ * Copy the shorter run into a scratch buffer and merge from that end.
+ * Whenever one run wins MIN_GALLOP comparisons in a row, switch to galloping:
+ * exponential search followed by binary search finds how many items of one run
+ * precede the next item of the other, and that block is moved with one array copy.
+ *
+ * ------------------------------------
+ *
+ * Order of Time Complexity:
+ *
+ * Best:	O(n)		(input is one ascending or descending run)
+ * Worst:	O(n log2(n))
+ * Average:	O(n log2(n))
+ *
+ * Extra Space:	O(n / 2)	(scratch buffer for the shorter run)
+ *
+ */
+public class TimSort {
+
+	/**
+	 * Arrays shorter than this are sorted with a single binary insertion sort.
+	 */
+	private static final int MIN_MERGE = 32;
+	/**
+	 * Initial number of consecutive wins that switches a merge into galloping mode.
+	 */
+	private static final int MIN_GALLOP = 7;
+	/**
+	 * Initial size of the scratch buffer used while merging.
+	 */
+	private static final int INITIAL_TMP_LENGTH = 256;
+
+	/**
+	 * Array being sorted.
+	 */
+	private final int[] A;
+	/**
+	 * Current galloping threshold; lowered while galloping pays off and raised while it doesn't.
+	 */
+	private int minGallop = MIN_GALLOP;
+	/**
+	 * Scratch buffer for merges, grown on demand.
+	 */
+	private int[] tmp;
+	/**
+	 * Stack of pending runs (start index and length of each run).
+	 */
+	private final int[] runBase;
+	private final int[] runLen;
+	private int stackSize = 0;
+
+
+	private TimSort(int[] A, int n) {
+		this.A = A;
+		this.tmp = new int[n < 2 * INITIAL_TMP_LENGTH ? n >>> 1 : INITIAL_TMP_LENGTH];
+
+		// run lengths grow at least as fast as the Fibonacci numbers, so this bounds the stack
+		int stackLength = (n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49);
+		this.runBase = new int[stackLength];
+		this.runLen = new int[stackLength];
+	}
+
+
+	/**
+	 * Adaptive Hybrid Algorithm (natural runs + binary insertion sort + galloping merges)
+	 * @param A Unordered Array
+	 * @param n Number of items
+	 * @return Sorted Array
+	 */
+	public static int[] Sort_Adaptive(int[] A, int n) {
+		if (n < 2)
+			return A;
+
+		// small arrays: one run, finished with binary insertion sort
+		if (n < MIN_MERGE) {
+			int initRunLen = countRunAndMakeAscending(A, 0, n);
+			InsertionSort.Sort_BinaryInPlace(A, 0, n, initRunLen);
+			return A;
+		}
+
+		TimSort ts = new TimSort(A, n);
+		int minRun = minRunLength(n);
+		int lo = 0;
+		int remaining = n;
+
+		do {
+			int runLen = countRunAndMakeAscending(A, lo, n);
+
+			// extend short runs to minRun items
+			if (runLen < minRun) {
+				int force = Math.min(remaining, minRun);
+				InsertionSort.Sort_BinaryInPlace(A, lo, lo + force, lo + runLen);
+				runLen = force;
+			}
+
+			ts.pushRun(lo, runLen);
+			ts.mergeCollapse();
+
+			lo += runLen;
+			remaining -= runLen;
+		} while (remaining != 0);
+
+		ts.mergeForceCollapse();
+		return A;
+	}
+
+
+	/**
+	 * Finds the length of the run starting at A[lo] and reverses it if it is strictly descending.
+	 * Only strictly descending runs are reversed so that equal items never swap places.
+	 * @param A Array
+	 * @param lo First index of the run
+	 * @param hi Last index of the range (exclusive)
+	 * @return length of the run beginning at lo
+	 */
+	private static int countRunAndMakeAscending(int[] A, int lo, int hi) {
+		int runHi = lo + 1;
+		if (runHi == hi)
+			return 1;
+
+		if (A[runHi++] < A[lo]) {
+			while (runHi < hi && A[runHi] < A[runHi - 1])
+				runHi++;
+			reverseRange(A, lo, runHi);
+		}
+		else {
+			while (runHi < hi && A[runHi] >= A[runHi - 1])
+				runHi++;
+		}
+		return runHi - lo;
+	}
+
+
+	/**
+	 * Reverses A[lo..hi-1].
+	 */
+	private static void reverseRange(int[] A, int lo, int hi) {
+		hi--;
+		while (lo < hi) {
+			int temp = A[lo];
+			A[lo++] = A[hi];
+			A[hi--] = temp;
+		}
+	}
+
+
+	/**
+	 * @param n Number of items
+	 * @return minimum run length; n / minRun is a power of two or slightly less than one
+	 */
+	private static int minRunLength(int n) {
+		int r = 0;
+		while (n >= MIN_MERGE) {
+			r |= (n & 1);
+			n >>= 1;
+		}
+		return n + r;
+	}
+
+
+	private void pushRun(int base, int len) {
+		runBase[stackSize] = base;
+		runLen[stackSize] = len;
+		stackSize++;
+	}
+
+
+	/**
+	 * Merges runs on the stack until the run-length invariants hold again:
+	 * runLen[i - 2] > runLen[i - 1] + runLen[i] and runLen[i - 1] > runLen[i].
+	 */
+	private void mergeCollapse() {
+		while (stackSize > 1) {
+			int n = stackSize - 2;
+
+			if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+					|| n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+				if (runLen[n - 1] < runLen[n + 1])
+					n--;
+			}
+			else if (runLen[n] > runLen[n + 1])
+				break;
+
+			mergeAt(n);
+		}
+	}
+
+
+	/**
+	 * Merges all remaining runs into one.
+	 */
+	private void mergeForceCollapse() {
+		while (stackSize > 1) {
+			int n = stackSize - 2;
+			if (n > 0 && runLen[n - 1] < runLen[n + 1])
+				n--;
+			mergeAt(n);
+		}
+	}
+
+
+	/**
+	 * Merges the two runs at stack positions i and i + 1.
+	 * @param i Stack index of the first run (second-last or third-last run on the stack)
+	 */
+	private void mergeAt(int i) {
+		int base1 = runBase[i];
+		int len1 = runLen[i];
+		int base2 = runBase[i + 1];
+		int len2 = runLen[i + 1];
+
+		runLen[i] = len1 + len2;
+		if (i == stackSize - 3) {
+			runBase[i + 1] = runBase[i + 2];
+			runLen[i + 1] = runLen[i + 2];
+		}
+		stackSize--;
+
+		// items of run1 that are <= the first item of run2 are already in place
+		int k = gallopRight(A[base2], A, base1, len1, 0);
+		base1 += k;
+		len1 -= k;
+		if (len1 == 0)
+			return;
+
+		// items of run2 that are >= the last item of run1 are already in place
+		len2 = gallopLeft(A[base1 + len1 - 1], A, base2, len2, len2 - 1);
+		if (len2 == 0)
+			return;
+
+		if (len1 <= len2)
+			mergeLo(base1, len1, base2, len2);
+		else
+			mergeHi(base1, len1, base2, len2);
+	}
+
+
+	/**
+	 * @param key Value to search for
+	 * @param a Array
+	 * @param base Index of the first item of the sorted range
+	 * @param len Length of the range
+	 * @param hint Index (relative to base) where the search starts
+	 * @return k such that a[base + k - 1] < key <= a[base + k] (leftmost insertion point)
+	 */
+	private static int gallopLeft(int key, int[] a, int base, int len, int hint) {
+		int lastOfs = 0;
+		int ofs = 1;
+
+		if (key > a[base + hint]) {
+			// gallop right until a[base + hint + lastOfs] < key <= a[base + hint + ofs]
+			int maxOfs = len - hint;
+			while (ofs < maxOfs && key > a[base + hint + ofs]) {
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)	// overflow
+					ofs = maxOfs;
+			}
+			if (ofs > maxOfs)
+				ofs = maxOfs;
+
+			lastOfs += hint;
+			ofs += hint;
+		}
+		else {
+			// gallop left until a[base + hint - ofs] < key <= a[base + hint - lastOfs]
+			int maxOfs = hint + 1;
+			while (ofs < maxOfs && key <= a[base + hint - ofs]) {
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)	// overflow
+					ofs = maxOfs;
+			}
+			if (ofs > maxOfs)
+				ofs = maxOfs;
+
+			int temp = lastOfs;
+			lastOfs = hint - ofs;
+			ofs = hint - temp;
+		}
+
+		// binary search in a[base + lastOfs + 1 .. base + ofs]
+		lastOfs++;
+		while (lastOfs < ofs) {
+			int m = lastOfs + ((ofs - lastOfs) >>> 1);
+			if (key > a[base + m])
+				lastOfs = m + 1;
+			else
+				ofs = m;
+		}
+		return ofs;
+	}
+
+
+	/**
+	 * @param key Value to search for
+	 * @param a Array
+	 * @param base Index of the first item of the sorted range
+	 * @param len Length of the range
+	 * @param hint Index (relative to base) where the search starts
+	 * @return k such that a[base + k - 1] <= key < a[base + k] (rightmost insertion point)
+	 */
+	private static int gallopRight(int key, int[] a, int base, int len, int hint) {
+		int lastOfs = 0;
+		int ofs = 1;
+
+		if (key < a[base + hint]) {
+			// gallop left until a[base + hint - ofs] <= key < a[base + hint - lastOfs]
+			int maxOfs = hint + 1;
+			while (ofs < maxOfs && key < a[base + hint - ofs]) {
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)	// overflow
+					ofs = maxOfs;
+			}
+			if (ofs > maxOfs)
+				ofs = maxOfs;
+
+			int temp = lastOfs;
+			lastOfs = hint - ofs;
+			ofs = hint - temp;
+		}
+		else {
+			// gallop right until a[base + hint + lastOfs] <= key < a[base + hint + ofs]
+			int maxOfs = len - hint;
+			while (ofs < maxOfs && key >= a[base + hint + ofs]) {
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)	// overflow
+					ofs = maxOfs;
+			}
+			if (ofs > maxOfs)
+				ofs = maxOfs;
+
+			lastOfs += hint;
+			ofs += hint;
+		}
+
+		// binary search in a[base + lastOfs + 1 .. base + ofs]
+		lastOfs++;
+		while (lastOfs < ofs) {
+			int m = lastOfs + ((ofs - lastOfs) >>> 1);
+			if (key < a[base + m])
+				ofs = m;
+			else
+				lastOfs = m + 1;
+		}
+		return ofs;
+	}
+
+
+	/**
+	 * Merges two adjacent runs from left to right; run1 (the shorter one) is copied to tmp.
+	 * Requires A[base1] > A[base2] and the last item of run1 > every item of run2.
+	 */
+	private void mergeLo(int base1, int len1, int base2, int len2) {
+		int[] a = A;
+		int[] t = ensureCapacity(len1);
+		System.arraycopy(a, base1, t, 0, len1);
+
+		int cursor1 = 0;	// index into tmp
+		int cursor2 = base2;	// index into a
+		int dest = base1;
+
+		a[dest++] = a[cursor2++];
+		if (--len2 == 0) {
+			System.arraycopy(t, cursor1, a, dest, len1);
+			return;
+		}
+		if (len1 == 1) {
+			System.arraycopy(a, cursor2, a, dest, len2);
+			a[dest + len2] = t[cursor1];
+			return;
+		}
+
+		int minGallop = this.minGallop;
+	outer:
+		while (true) {
+			int count1 = 0;	// number of times in a row that run1 won
+			int count2 = 0;	// number of times in a row that run2 won
+
+			// one-at-a-time mode until one run starts winning consistently
+			do {
+				if (a[cursor2] < t[cursor1]) {
+					a[dest++] = a[cursor2++];
+					count2++;
+					count1 = 0;
+					if (--len2 == 0)
+						break outer;
+				}
+				else {
+					a[dest++] = t[cursor1++];
+					count1++;
+					count2 = 0;
+					if (--len1 == 1)
+						break outer;
+				}
+			} while ((count1 | count2) < minGallop);
+
+			// galloping mode until neither run wins by a wide enough margin
+			do {
+				count1 = gallopRight(a[cursor2], t, cursor1, len1, 0);
+				if (count1 != 0) {
+					System.arraycopy(t, cursor1, a, dest, count1);
+					dest += count1;
+					cursor1 += count1;
+					len1 -= count1;
+					if (len1 <= 1)
+						break outer;
+				}
+				a[dest++] = a[cursor2++];
+				if (--len2 == 0)
+					break outer;
+
+				count2 = gallopLeft(t[cursor1], a, cursor2, len2, 0);
+				if (count2 != 0) {
+					System.arraycopy(a, cursor2, a, dest, count2);
+					dest += count2;
+					cursor2 += count2;
+					len2 -= count2;
+					if (len2 == 0)
+						break outer;
+				}
+				a[dest++] = t[cursor1++];
+				if (--len1 == 1)
+					break outer;
+				minGallop--;
+			} while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+			if (minGallop < 0)
+				minGallop = 0;
+			minGallop += 2;	// penalize leaving galloping mode
+		}
+		this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+		if (len1 == 1) {
+			System.arraycopy(a, cursor2, a, dest, len2);
+			a[dest + len2] = t[cursor1];	// last item of run1 goes to the end
+		}
+		else
+			System.arraycopy(t, cursor1, a, dest, len1);
+	}
+
+
+	/**
+	 * Merges two adjacent runs from right to left; run2 (the shorter one) is copied to tmp.
+	 * Requires A[base1] > A[base2] and the last item of run1 > every item of run2.
+	 */
+	private void mergeHi(int base1, int len1, int base2, int len2) {
+		int[] a = A;
+		int[] t = ensureCapacity(len2);
+		System.arraycopy(a, base2, t, 0, len2);
+
+		int cursor1 = base1 + len1 - 1;	// index into a
+		int cursor2 = len2 - 1;		// index into tmp
+		int dest = base2 + len2 - 1;
+
+		a[dest--] = a[cursor1--];
+		if (--len1 == 0) {
+			System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+			return;
+		}
+		if (len2 == 1) {
+			dest -= len1;
+			cursor1 -= len1;
+			System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+			a[dest] = t[cursor2];
+			return;
+		}
+
+		int minGallop = this.minGallop;
+	outer:
+		while (true) {
+			int count1 = 0;	// number of times in a row that run1 won
+			int count2 = 0;	// number of times in a row that run2 won
+
+			// one-at-a-time mode until one run starts winning consistently
+			do {
+				if (t[cursor2] < a[cursor1]) {
+					a[dest--] = a[cursor1--];
+					count1++;
+					count2 = 0;
+					if (--len1 == 0)
+						break outer;
+				}
+				else {
+					a[dest--] = t[cursor2--];
+					count2++;
+					count1 = 0;
+					if (--len2 == 1)
+						break outer;
+				}
+			} while ((count1 | count2) < minGallop);
+
+			// galloping mode until neither run wins by a wide enough margin
+			do {
+				count1 = len1 - gallopRight(t[cursor2], a, base1, len1, len1 - 1);
+				if (count1 != 0) {
+					dest -= count1;
+					cursor1 -= count1;
+					len1 -= count1;
+					System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+					if (len1 == 0)
+						break outer;
+				}
+				a[dest--] = t[cursor2--];
+				if (--len2 == 1)
+					break outer;
+
+				count2 = len2 - gallopLeft(a[cursor1], t, 0, len2, len2 - 1);
+				if (count2 != 0) {
+					dest -= count2;
+					cursor2 -= count2;
+					len2 -= count2;
+					System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+					if (len2 <= 1)
+						break outer;
+				}
+				a[dest--] = a[cursor1--];
+				if (--len1 == 0)
+					break outer;
+				minGallop--;
+			} while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+			if (minGallop < 0)
+				minGallop = 0;
+			minGallop += 2;	// penalize leaving galloping mode
+		}
+		this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+		if (len2 == 1) {
+			dest -= len1;
+			cursor1 -= len1;
+			System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+			a[dest] = t[cursor2];	// first item of run2 goes to the front
+		}
+		else
+			System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+	}
+
+
+	/**
+	 * @param minCapacity Required number of items
+	 * @return the scratch buffer, grown to the next power of two if it was too small
+	 */
+	private int[] ensureCapacity(int minCapacity) {
+		if (tmp.length < minCapacity) {
+			int newSize = Integer.highestOneBit(minCapacity) << 1;
+			if (newSize < 0)	// overflow
+				newSize = minCapacity;
+			else
+				newSize = Math.min(newSize, A.length >>> 1);
+			tmp = new int[Math.max(newSize, minCapacity)];
+		}
+		return tmp;
+	}
+
+}
@@ -0,0 +1,186 @@
+import java.util.Arrays;
+/**
+ * Streaming top-k accumulator over int values.
+ * Keeps the k largest (or k smallest) values seen so far in a bounded binary heap, so
+ * values can be fed in chunks of any size without ever holding the whole stream.
+ * Each value costs O(log2(k)) at most; values that cannot enter the result cost O(1).
+ * @author Tsuki
+ *
+ */
+public class TopKAccumulator
+{
+	/**
+	 * Maximum number of values kept.
+	 */
+	private final int k;
+	/**
+	 * True if the largest values are kept; false if the smallest are kept.
+	 */
+	private final boolean largest;
+	/**
+	 * Min-heap of the kept values. When the smallest values are kept, every value is stored
+	 * bitwise-inverted (~x reverses the order of ints without overflow), so the same min-heap
+	 * code serves both modes. The array grows on demand up to k slots, so a large k costs
+	 * no memory until that many values have actually been offered.
+	 */
+	private int[] heap;
+	/**
+	 * Number of values in the heap.
+	 */
+	private int size;
+	/**
+	 * Initial length of the heap array.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+
+	/**
+	 * Constructor used to create an empty accumulator.
+	 * @param k Number of values to keep
+	 * @param largest true to keep the k largest values; false to keep the k smallest
+	 * @throws IllegalArgumentException if k is negative
+	 */
+	public TopKAccumulator(int k, boolean largest)
+	{
+		if (k < 0)
+			throw new IllegalArgumentException("k must not be negative: " + k);
+
+		this.k = k;
+		this.largest = largest;
+		this.heap = new int[Math.min(k, INITIAL_CAPACITY)];
+		this.size = 0;
+	}
+
+
+	/**
+	 * Offers a single value to this accumulator.
+	 * @param value Specified value
+	 */
+	public void add(int value)
+	{
+		int x = largest ? value : ~value;
+
+		if (size < k)
+		{
+			if (size == heap.length)
+				heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+			heap[size] = x;
+			siftUp(size++);
+		}
+		else if (k > 0 && x > heap[0])
+		{
+			// replace the weakest kept value
+			heap[0] = x;
+			siftDown(0);
+		}
+	}
+
+
+	/**
+	 * Offers a chunk of values to this accumulator.
+	 * @param values Array holding the chunk
+	 * @param offset Index of the first value of the chunk
+	 * @param length Number of values in the chunk
+	 */
+	public void addAll(int[] values, int offset, int length)
+	{
+		for (int i = offset; i < offset + length; i++)
+			add(values[i]);
+	}
+
+
+	/**
+	 * @return number of values currently kept (at most k)
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * @return true if no value has been kept yet; false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+
+	/**
+	 * Removes every kept value so the accumulator can be reused.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+
+
+	/**
+	 * @return the kept values, best first (largest first when keeping the largest values,
+	 * 		   smallest first when keeping the smallest values)
+	 */
+	public int[] toArray()
+	{
+		int[] result = new int[size];
+
+		for (int i = 0; i < size; i++)
+			result[i] = largest ? heap[i] : ~heap[i];
+
+		QuickSort.Sort_Recursively(result, size);
+
+		if (largest)
+		{
+			for (int i = 0, j = size - 1; i < j; i++, j--)
+			{
+				int temp = result[i];
+				result[i] = result[j];
+				result[j] = temp;
+			}
+		}
+		return result;
+	}
+
+
+	/**
+	 * Moves the value at index i up until its parent is no larger.
+	 */
+	private void siftUp(int i)
+	{
+		int x = heap[i];
+
+		while (i > 0)
+		{
+			int parent = (i - 1) >>> 1;
+			if (heap[parent] <= x)
+				break;
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = x;
+	}
+
+
+	/**
+	 * Moves the value at index i down until both children are no smaller.
+	 */
+	private void siftDown(int i)
+	{
+		int x = heap[i];
+
+		while (true)
+		{
+			int child = 2 * i + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && heap[child + 1] < heap[child])
+				child++;
+			if (heap[child] >= x)
+				break;
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+
+}
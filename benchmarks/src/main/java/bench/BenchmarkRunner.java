@@ -0,0 +1,39 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar.
+ * Accepts the usual JMH command line (benchmark regex, -p size=..., -f, -wi, ...), always
+ * attaches the GC profiler (allocation rate per operation) and always writes the results as
+ * JSON (jmh-result.json unless -rff names another file), so release builds can diff them
+ * against a baseline run.
+ * @author Tsuki
+ *
+ */
+public final class BenchmarkRunner
+{
+	private BenchmarkRunner()
+	{
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions cli = new CommandLineOptions(args);
+
+		Options options = new OptionsBuilder()
+				.parent(cli)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(cli.getResult().orElse("jmh-result.json"))
+				.build();
+
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,52 @@
+package bench;
+
+import java.util.Random;
+
+/**
+ * Input distributions the sort benchmarks are run against.
+ * @author Tsuki
+ *
+ */
+public enum Distribution
+{
+	/** Uniformly random ints. */
+	RANDOM,
+	/** 0, 1, 2, ... (already sorted). */
+	SORTED,
+	/** n, n-1, n-2, ... (sorted backwards). */
+	REVERSE,
+	/** Ascending first half followed by a descending second half. */
+	ORGAN_PIPE,
+	/** Random values drawn from only 16 distinct keys. */
+	FEW_UNIQUE,
+	/** Repeated ascending runs of length sqrt(n). */
+	SAWTOOTH;
+
+
+	/**
+	 * @param n Number of items
+	 * @param seed Seed of the random generator (same seed, same array)
+	 * @return a new array of n items following this distribution
+	 */
+	public int[] generate(int n, long seed)
+	{
+		Random random = new Random(seed);
+		int period = Math.max(1, (int) Math.sqrt(n));
+		int[] a = new int[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			switch (this)
+			{
+				case RANDOM:		a[i] = random.nextInt(); break;
+				case SORTED:		a[i] = i; break;
+				case REVERSE:		a[i] = n - i; break;
+				case ORGAN_PIPE:	a[i] = i < n / 2 ? i : n - i; break;
+				case FEW_UNIQUE:	a[i] = random.nextInt(16); break;
+				case SAWTOOTH:		a[i] = i % period; break;
+				default:		throw new AssertionError(this);
+			}
+		}
+		return a;
+	}
+}
@@ -0,0 +1,112 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Helpers.ArrayUnorderedList;
+
+/**
+ * Throughput of the O(n^2) insertion and selection sorts over every distribution.
+ * Sizes stop at 16384: at 10^7 items a single quadratic sort runs for hours.
+ * Every invocation first rebuilds its input from the pristine copy; copyOnly and
+ * listOnly measure that setup alone so it can be subtracted.
+ * @author Tsuki
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QuadraticSortBenchmark
+{
+	private static final long SEED = 42;
+
+	@Param({"16", "256", "4096", "16384"})
+	private int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSE", "ORGAN_PIPE", "FEW_UNIQUE", "SAWTOOTH"})
+	private Distribution distribution;
+
+	private int[] source;
+	private int[] work;
+
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		source = distribution.generate(size, SEED);
+		work = new int[size];
+	}
+
+
+	private int[] fresh()
+	{
+		System.arraycopy(source, 0, work, 0, size);
+		return work;
+	}
+
+
+	private ArrayUnorderedList<Integer> freshList()
+	{
+		ArrayUnorderedList<Integer> list = new ArrayUnorderedList<Integer>();
+		for (int i = 0; i < size; i++)
+			list.addToRear(source[i]);
+		return list;
+	}
+
+
+	@Benchmark
+	public int[] copyOnly()
+	{
+		return fresh();
+	}
+
+
+	@Benchmark
+	public ArrayUnorderedList<Integer> listOnly()
+	{
+		return freshList();
+	}
+
+
+	@Benchmark
+	public int[] insertionSortInPlace() throws Throwable
+	{
+		return (int[]) Sorts.INSERTION_SORT_IN_PLACE.invokeExact(fresh(), size);
+	}
+
+
+	@Benchmark
+	public int[] insertionSortUsingStacks() throws Throwable
+	{
+		return (int[]) Sorts.INSERTION_SORT_STACKS.invokeExact(fresh(), size);
+	}
+
+
+	@Benchmark
+	public int[] selectionSortInPlace() throws Throwable
+	{
+		return (int[]) Sorts.SELECTION_SORT_IN_PLACE.invokeExact(fresh(), size);
+	}
+
+
+	@Benchmark
+	public ArrayUnorderedList<?> selectionSortUsingQueues() throws Throwable
+	{
+		return (ArrayUnorderedList<?>) Sorts.SELECTION_SORT_QUEUES.invokeExact(freshList());
+	}
+}
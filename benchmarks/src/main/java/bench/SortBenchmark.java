@@ -0,0 +1,108 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the O(n log n) and linear-time sorts over every distribution, 16 to 10^7 items.
+ * Every invocation first copies the pristine input into the work array; copyOnly measures
+ * that copy alone so it can be subtracted.
+ * @author Tsuki
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortBenchmark
+{
+	private static final long SEED = 42;
+
+	@Param({"16", "256", "4096", "65536", "1048576", "10000000"})
+	private int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSE", "ORGAN_PIPE", "FEW_UNIQUE", "SAWTOOTH"})
+	private Distribution distribution;
+
+	private int[] source;
+	private int[] work;
+	private int[] scratch;
+
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		source = distribution.generate(size, SEED);
+		work = new int[size];
+		scratch = new int[size];
+	}
+
+
+	private int[] fresh()
+	{
+		System.arraycopy(source, 0, work, 0, size);
+		return work;
+	}
+
+
+	@Benchmark
+	public int[] copyOnly()
+	{
+		return fresh();
+	}
+
+
+	@Benchmark
+	public int[] quickSort() throws Throwable
+	{
+		return (int[]) Sorts.QUICK_SORT.invokeExact(fresh(), size);
+	}
+
+
+	@Benchmark
+	public int[] quickSortParallel() throws Throwable
+	{
+		return (int[]) Sorts.QUICK_SORT_PARALLEL.invokeExact(fresh(), size);
+	}
+
+
+	@Benchmark
+	public int[] timSort() throws Throwable
+	{
+		return (int[]) Sorts.TIM_SORT.invokeExact(fresh(), size);
+	}
+
+
+	@Benchmark
+	public int[] radixSort() throws Throwable
+	{
+		return (int[]) Sorts.RADIX_SORT.invokeExact(fresh(), size, scratch);
+	}
+
+
+	/**
+	 * JDK reference point (dual-pivot quicksort).
+	 */
+	@Benchmark
+	public int[] jdkArraysSort()
+	{
+		int[] a = fresh();
+		Arrays.sort(a, 0, size);
+		return a;
+	}
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import Helpers.ArrayUnorderedList;
+
+/**
+ * Handles to the sort implementations under test.
+ * The sorts live in the unnamed package, which named packages such as this one cannot
+ * import (and JMH refuses benchmarks in the unnamed package), so they are resolved once
+ * by name. Calls through static final handles with invokeExact are inlined by the JIT
+ * and cost the same as direct calls.
+ * @author Tsuki
+ *
+ */
+final class Sorts
+{
+	/** (int[] A, int n) -> int[] */
+	private static final MethodType INT_ARRAY_SORT = MethodType.methodType(int[].class, int[].class, int.class);
+
+	static final MethodHandle QUICK_SORT = findStatic("QuickSort", "Sort_Recursively", INT_ARRAY_SORT);
+	static final MethodHandle QUICK_SORT_PARALLEL = findStatic("QuickSort", "Sort_Parallel", INT_ARRAY_SORT);
+	static final MethodHandle TIM_SORT = findStatic("TimSort", "Sort_Adaptive", INT_ARRAY_SORT);
+	static final MethodHandle RADIX_SORT = findStatic("RadixSort", "Sort_LSD",
+			MethodType.methodType(int[].class, int[].class, int.class, int[].class));
+	static final MethodHandle INSERTION_SORT_IN_PLACE = findStatic("InsertionSort", "Sort_InPlace", INT_ARRAY_SORT);
+	static final MethodHandle INSERTION_SORT_STACKS = findInstance("InsertionSort", "Sort_UsingStacks", INT_ARRAY_SORT);
+	static final MethodHandle SELECTION_SORT_IN_PLACE = findStatic("SelectionSort", "Sort_InPlace", INT_ARRAY_SORT);
+	static final MethodHandle SELECTION_SORT_QUEUES = findStatic("SelectionSort", "Sort_UsingQueues",
+			MethodType.methodType(ArrayUnorderedList.class, ArrayUnorderedList.class));
+
+
+	private Sorts()
+	{
+	}
+
+
+	private static MethodHandle findStatic(String className, String methodName, MethodType type)
+	{
+		try
+		{
+			return MethodHandles.publicLookup().findStatic(Class.forName(className), methodName, type);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+
+	/**
+	 * @return a handle to the instance method, bound to a new instance of the class
+	 */
+	private static MethodHandle findInstance(String className, String methodName, MethodType type)
+	{
+		try
+		{
+			Class<?> c = Class.forName(className);
+			return MethodHandles.publicLookup().findVirtual(c, methodName, type)
+					.bindTo(c.getConstructor().newInstance());
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+}